@@ -0,0 +1,94 @@
+package imbuy.benchmarks.bid;
+
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.ReadConsistency;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.TopOfBook;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BidRepositoryPort} that keeps only the top of book of each lot, so a benchmark
+ * measures the service's own work rather than the database or a growing heap.
+ */
+class InMemoryBidRepository implements BidRepositoryPort {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, TopOfBook> books = new ConcurrentHashMap<>();
+
+    @Override
+    public Flux<Bid> findByLotId(Long lotId, Pageable pageable, ReadConsistency consistency) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Flux<Bid> findByLotIdBefore(Long lotId, LocalDateTime createdAt, Long id, int limit,
+                                       ReadConsistency consistency) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Mono<Bid> save(Bid bid) {
+        return Mono.fromSupplier(() -> store(bid));
+    }
+
+    @Override
+    public Flux<Bid> saveAll(List<Bid> bids) {
+        return Flux.fromIterable(bids).map(this::store);
+    }
+
+    @Override
+    public Mono<Bid> findByIdempotencyKey(Long bidderId, String idempotencyKey) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Integer> deleteIdempotencyKeysBefore(LocalDateTime before) {
+        return Mono.just(0);
+    }
+
+    @Override
+    public Mono<BigDecimal> findMaxBidAmountByLotId(Long lotId) {
+        return Mono.justOrEmpty(books.get(lotId)).map(TopOfBook::getHighestAmount);
+    }
+
+    @Override
+    public Mono<Long> countBidsForLot(Long lotId) {
+        return Mono.justOrEmpty(books.get(lotId)).map(TopOfBook::getBidCount).defaultIfEmpty(0L);
+    }
+
+    @Override
+    public Mono<Bid> findHighestBidByLotId(Long lotId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<Bid> findHighestBidsByLotIds(Collection<Long> lotIds) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Mono<TopOfBook> findTopOfBook(Long lotId) {
+        return Mono.justOrEmpty(books.get(lotId));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(books::clear);
+    }
+
+    private Bid store(Bid bid) {
+        bid.setId(ids.incrementAndGet());
+        books.merge(bid.getLotId(), TopOfBook.empty(bid.getLotId()).apply(bid), (current, first) -> current.apply(bid));
+        return bid;
+    }
+}
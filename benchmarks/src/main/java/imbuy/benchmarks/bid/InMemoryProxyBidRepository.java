@@ -0,0 +1,27 @@
+package imbuy.benchmarks.bid;
+
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.domain.model.ProxyBid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * No proxy bids are ever registered: the benchmarks cover plain bids only.
+ */
+class InMemoryProxyBidRepository implements ProxyBidRepositoryPort {
+
+    @Override
+    public Flux<ProxyBid> findByLotId(Long lotId) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Mono<ProxyBid> save(Long lotId, Long bidderId, long maxAmount) {
+        return Mono.error(new UnsupportedOperationException("Proxy bids are not benchmarked"));
+    }
+
+    @Override
+    public Mono<Boolean> delete(Long lotId, Long bidderId) {
+        return Mono.just(false);
+    }
+}
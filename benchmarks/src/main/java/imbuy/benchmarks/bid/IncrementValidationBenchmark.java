@@ -0,0 +1,52 @@
+package imbuy.benchmarks.bid;
+
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.domain.model.TopOfBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bid-step check {@code BidService} runs for every bid, on amounts in minor units:
+ * accepting is an addition and a comparison, rejecting additionally builds the error message.
+ * Run with {@code -prof gc} to see the allocation rate; see {@code baseline/money-gc.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementValidationBenchmark {
+
+    // Not final, so the JIT cannot fold the checks into constants
+    private LotRules rules = new LotRules(7L, Money.toMinor(new BigDecimal("100.00")),
+            Money.toMinor(new BigDecimal("10.00")), null, LotRules.ACTIVE);
+    private TopOfBook book = new TopOfBook(7L, Money.toMinor(new BigDecimal("1250.00")), 3L, 48);
+    private long accepted = Money.toMinor(new BigDecimal("1260.00"));
+    private long rejected = Money.toMinor(new BigDecimal("1255.50"));
+
+    @Benchmark
+    public boolean accept() {
+        return accepted >= rules.minimumNextBid(book);
+    }
+
+    @Benchmark
+    public String reject() {
+        long minBid = rules.minimumNextBid(book);
+        if (rejected < minBid) {
+            return "Bid must be at least " + Money.format(minBid);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package imbuy.benchmarks.bid;
+
+import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.mapper.BidMapper;
+import imbuy.bid.application.mapper.BidMapperImpl;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.infrastructure.persistence.entity.BidEntity;
+import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a bid to its response DTO and to and from its R2DBC entity; every bid
+ * placed or read goes through at least two of these.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final BidMapper mapper = new BidMapperImpl();
+    private final BidPersistenceMapper persistenceMapper = new BidPersistenceMapper();
+
+    private Bid bid = Bid.builder()
+            .id(42L)
+            .lotId(7L)
+            .bidderId(3L)
+            .amount(new BigDecimal("1250.00"))
+            .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+            .build();
+    private BidEntity entity = persistenceMapper.toEntity(bid);
+
+    @Benchmark
+    public BidDto toDto() {
+        return mapper.mapToDto(bid);
+    }
+
+    @Benchmark
+    public BidEntity toEntity() {
+        return persistenceMapper.toEntity(bid);
+    }
+
+    @Benchmark
+    public Bid toDomain() {
+        return persistenceMapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,120 @@
+package imbuy.benchmarks.bid;
+
+import imbuy.bid.application.cache.IdempotencyCache;
+import imbuy.bid.application.cache.LotRulesCache;
+import imbuy.bid.application.cache.TopOfBookCache;
+import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.mapper.BidMapperImpl;
+import imbuy.bid.application.proxy.ProxyBidEngine;
+import imbuy.bid.application.ratelimit.BidRateLimiter;
+import imbuy.bid.application.sequencer.BidSequencer;
+import imbuy.bid.application.service.BidService;
+import imbuy.bid.application.stream.BidStreamHub;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BidService#placeBid} end to end, minus the database: rate limiting, the sequencer lane,
+ * lot rules and top-of-book validation, the save, proxy resolution and the stream fan-out.
+ * <p>
+ * Every call outbids the previous one on the same lot, so each bid is accepted.
+ * With several threads each one bids on its own lots.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceBidBenchmark {
+
+    private static final BigDecimal STEP = new BigDecimal("10.00");
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        BidService service;
+        BidSequencer sequencer;
+        final AtomicLong lotRanges = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            InMemoryBidRepository repository = new InMemoryBidRepository();
+            sequencer = new BidSequencer(0, 256, Duration.ofSeconds(10), registry);
+            service = new BidService(
+                    repository,
+                    new BidMapperImpl(),
+                    new TopOfBookCache(repository, registry),
+                    // Every lot is open with the benchmark's step; after the first bid the rules come from the cache
+                    new LotRulesCache(lotId -> Mono.just(new LotRules(lotId, Money.toMinor(STEP),
+                            Money.toMinor(STEP), LocalDateTime.now().plusDays(1), LotRules.ACTIVE)),
+                            100_000, Duration.ofMinutes(30), registry),
+                    sequencer,
+                    new BidStreamHub(repository, registry),
+                    new ProxyBidEngine(new InMemoryProxyBidRepository(), registry),
+                    new IdempotencyCache(repository, 100_000, Duration.ofMinutes(10), registry),
+                    // Limits are per bidder and per lot; a benchmark would hit them in microseconds
+                    new BidRateLimiter(false, 5, 10, 200, 400, registry),
+                    registry
+            );
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            sequencer.destroy();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Bidder {
+
+        @Param({"1", "1024"})
+        int lots;
+
+        long firstLot;
+        long sequence;
+        BigDecimal[] amounts;
+
+        @Setup(Level.Trial)
+        public void setUp(Service service) {
+            firstLot = service.lotRanges.getAndIncrement() * lots + 1;
+            amounts = new BigDecimal[lots];
+            Arrays.fill(amounts, new BigDecimal("100.00"));
+        }
+
+        CreateBidDto next(int lot) {
+            amounts[lot] = amounts[lot].add(STEP);
+            return new CreateBidDto(amounts[lot]);
+        }
+    }
+
+    @Benchmark
+    public BidDto placeBid(Service service, Bidder bidder) {
+        int lot = (int) (bidder.sequence++ % bidder.lots);
+        return service.service.placeBid(bidder.firstLot + lot, bidder.next(lot), bidder.sequence % 7 + 1).block();
+    }
+}
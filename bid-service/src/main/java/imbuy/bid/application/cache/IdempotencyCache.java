@@ -0,0 +1,88 @@
+package imbuy.bid.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.domain.model.Bid;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bids by the Idempotency-Key they were submitted with, so a retried submission gets
+ * the original bid back instead of placing a second one.
+ * <p>
+ * Recent keys are held in a bounded in-memory cache ({@code app.bid.idempotency.cache-size},
+ * {@code cache-ttl}); older ones, or keys seen by another instance, are looked up in
+ * {@code bid_idempotency_keys}, which keeps them for {@code retention}. Hit rate and size are
+ * published as the standard {@code cache.*} metrics with {@code cache=bid.idempotency}.
+ */
+@Slf4j
+@Component
+public class IdempotencyCache {
+
+    private final BidRepositoryPort repository;
+    private final Cache<Key, Bid> cache;
+
+    @Value("${app.bid.idempotency.retention:P1D}")
+    private Duration retention;
+
+    public IdempotencyCache(
+            BidRepositoryPort repository,
+            @Value("${app.bid.idempotency.cache-size:100000}") long cacheSize,
+            @Value("${app.bid.idempotency.cache-ttl:PT10M}") Duration cacheTtl,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bid.idempotency");
+    }
+
+    /**
+     * Cached bid for the key, or {@code null} without touching the database.
+     */
+    public Bid getIfPresent(Long bidderId, String idempotencyKey) {
+        return cache.getIfPresent(new Key(bidderId, idempotencyKey));
+    }
+
+    /**
+     * Bid for the key from memory or, failing that, from the table.
+     * Does not count towards the hit rate, so a lookup after {@link #getIfPresent} is not counted twice.
+     */
+    public Mono<Bid> find(Long bidderId, String idempotencyKey) {
+        Key key = new Key(bidderId, idempotencyKey);
+        Bid cached = cache.asMap().get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return repository.findByIdempotencyKey(bidderId, idempotencyKey)
+                .doOnNext(bid -> cache.put(key, bid));
+    }
+
+    public void remember(Bid bid, String idempotencyKey) {
+        cache.put(new Key(bid.getBidderId(), idempotencyKey), bid);
+    }
+
+    @Scheduled(fixedDelayString = "${app.bid.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            Integer purged = repository.deleteIdempotencyKeysBefore(LocalDateTime.now().minus(retention)).block();
+            log.debug("Purged {} expired idempotency keys", purged);
+        } catch (Exception e) {
+            log.error("Failed to purge idempotency keys: {}", e.getMessage(), e);
+        }
+    }
+
+    private record Key(Long bidderId, String idempotencyKey) {
+    }
+}
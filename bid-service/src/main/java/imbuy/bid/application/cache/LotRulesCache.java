@@ -0,0 +1,94 @@
+package imbuy.bid.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import imbuy.bid.application.port.out.LotRulesPort;
+import imbuy.bid.domain.model.LotRules;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Local replica of the lots' bidding rules, so validating a bid never waits for lot-service.
+ * <p>
+ * A lot is asked from lot-service the first time it is bid on (concurrent misses share one
+ * request) and kept up to date from lot events afterwards. Entries not used for
+ * {@code app.bid.lot-rules.idle-timeout} are dropped; at most {@code cache-size} lots are kept.
+ * Hit rate and size are published as the standard {@code cache.*} metrics with
+ * {@code cache=bid.lot_rules}.
+ */
+@Component
+public class LotRulesCache {
+
+    private static final int WRITE_STRIPES = 1024;
+
+    private final LotRulesPort lotService;
+    private final Cache<Long, LotRules> cache;
+    private final Map<Long, Mono<LotRules>> loading = new ConcurrentHashMap<>();
+    // Bumped on every event so that a load racing with an event never caches stale rules
+    private final AtomicLongArray writeSequence = new AtomicLongArray(WRITE_STRIPES);
+
+    public LotRulesCache(
+            LotRulesPort lotService,
+            @Value("${app.bid.lot-rules.cache-size:100000}") long cacheSize,
+            @Value("${app.bid.lot-rules.idle-timeout:PT30M}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.lotService = lotService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bid.lot_rules");
+    }
+
+    public Mono<LotRules> get(Long lotId) {
+        LotRules rules = cache.getIfPresent(lotId);
+        if (rules != null) {
+            return Mono.just(rules);
+        }
+        return loading.computeIfAbsent(lotId, this::load);
+    }
+
+    /**
+     * Replaces the lot's rules with a complete copy, e.g. from a lot creation event.
+     */
+    public void put(LotRules rules) {
+        writeSequence.incrementAndGet(stripe(rules.getLotId()));
+        cache.put(rules.getLotId(), rules);
+    }
+
+    /**
+     * Applies a partial change to the lot's rules if they are cached; otherwise the
+     * next bid loads them fresh.
+     */
+    public void update(Long lotId, UnaryOperator<LotRules> change) {
+        writeSequence.incrementAndGet(stripe(lotId));
+        cache.asMap().computeIfPresent(lotId, (id, rules) -> change.apply(rules));
+    }
+
+    private Mono<LotRules> load(Long lotId) {
+        long sequence = writeSequence.get(stripe(lotId));
+
+        return lotService.findRules(lotId)
+                .doOnNext(rules -> {
+                    if (writeSequence.get(stripe(lotId)) == sequence) {
+                        cache.asMap().putIfAbsent(lotId, rules);
+                    }
+                })
+                .doFinally(signal -> loading.remove(lotId))
+                .cache();
+    }
+
+    private static int stripe(Long lotId) {
+        return Long.hashCode(lotId) & (WRITE_STRIPES - 1);
+    }
+}
@@ -0,0 +1,158 @@
+package imbuy.bid.application.cache;
+
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.TopOfBook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory top of book per lot. Warmed from the repository on first access and
+ * updated after every successful save, so bid validation and winner lookups
+ * do not need a database round trip for hot lots.
+ * <p>
+ * The cache is local to the instance, so with several instances it can fall behind bids
+ * placed elsewhere; the database still refuses a bid that does not clear the stored highest
+ * bid, and the lot's entry is then reloaded. Entries are also dropped when a lot is closed
+ * or has not been touched for {@code app.bid.top-of-book.idle-timeout}.
+ */
+@Slf4j
+@Component
+public class TopOfBookCache {
+
+    private static final int WRITE_STRIPES = 1024;
+
+    private final BidRepositoryPort repository;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every save so that a warm-up racing with a save never caches a stale book
+    private final AtomicLongArray writeSequence = new AtomicLongArray(WRITE_STRIPES);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter idleEvictions;
+    private final Counter closedEvictions;
+    private final Counter staleEvictions;
+
+    @Value("${app.bid.top-of-book.idle-timeout:PT30M}")
+    private Duration idleTimeout;
+
+    public TopOfBookCache(BidRepositoryPort repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.hits = meterRegistry.counter("bid.top_of_book.requests", "result", "hit");
+        this.misses = meterRegistry.counter("bid.top_of_book.requests", "result", "miss");
+        this.idleEvictions = meterRegistry.counter("bid.top_of_book.evictions", "reason", "idle");
+        this.closedEvictions = meterRegistry.counter("bid.top_of_book.evictions", "reason", "closed");
+        this.staleEvictions = meterRegistry.counter("bid.top_of_book.evictions", "reason", "stale");
+        meterRegistry.gaugeMapSize("bid.top_of_book.size", Tags.empty(), entries);
+    }
+
+    public Mono<TopOfBook> get(Long lotId) {
+        Entry entry = entries.get(lotId);
+        if (entry != null) {
+            hits.increment();
+            entry.touch();
+            return Mono.just(entry.book);
+        }
+        misses.increment();
+        return warm(lotId);
+    }
+
+    /**
+     * Cached book of the lot, or {@code null} without touching the database.
+     */
+    public TopOfBook getIfPresent(Long lotId) {
+        Entry entry = entries.get(lotId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.touch();
+        return entry.book;
+    }
+
+    public void onBidSaved(Bid bid) {
+        entries.compute(bid.getLotId(), (lotId, current) -> {
+            writeSequence.incrementAndGet(stripe(lotId));
+            if (current == null) {
+                return null;
+            }
+            return new Entry(current.book.apply(bid));
+        });
+    }
+
+    public void evict(Long lotId) {
+        if (entries.remove(lotId) != null) {
+            closedEvictions.increment();
+            log.debug("Evicted top of book for closed lot {}", lotId);
+        }
+    }
+
+    /**
+     * Drops the lot's book after the database turned a bid away that the cached book let
+     * through, i.e. another instance has placed a higher bid; the next read reloads it.
+     */
+    public void evictStale(Long lotId) {
+        entries.compute(lotId, (id, current) -> {
+            writeSequence.incrementAndGet(stripe(id));
+            if (current != null) {
+                staleEvictions.increment();
+            }
+            return null;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.bid.top-of-book.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeout.toMillis();
+        entries.entrySet().removeIf(e -> {
+            boolean idle = e.getValue().lastAccess < threshold;
+            if (idle) {
+                idleEvictions.increment();
+            }
+            return idle;
+        });
+    }
+
+    private Mono<TopOfBook> warm(Long lotId) {
+        long sequence = writeSequence.get(stripe(lotId));
+
+        return repository.findTopOfBook(lotId)
+                .defaultIfEmpty(TopOfBook.empty(lotId))
+                .doOnNext(book -> entries.compute(lotId, (id, current) -> {
+                    if (current != null) {
+                        return current;
+                    }
+                    return writeSequence.get(stripe(id)) == sequence ? new Entry(book) : null;
+                }));
+    }
+
+    private static int stripe(Long lotId) {
+        return Long.hashCode(lotId) & (WRITE_STRIPES - 1);
+    }
+
+    private static final class Entry {
+        private final TopOfBook book;
+        private volatile long lastAccess;
+
+        private Entry(TopOfBook book) {
+            this.book = book;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package imbuy.bid.application.dto;
+
+import java.util.List;
+
+public record BidPageDto(
+        List<BidDto> items,
+        String next_cursor
+) {}
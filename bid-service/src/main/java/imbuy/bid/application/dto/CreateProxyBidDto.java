@@ -0,0 +1,11 @@
+package imbuy.bid.application.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+public record CreateProxyBidDto(
+        @NotNull(message = "Maximum amount is required")
+        @DecimalMin(value = "0.0", inclusive = false, message = "Maximum amount must be greater than 0")
+        BigDecimal max_amount
+) {}
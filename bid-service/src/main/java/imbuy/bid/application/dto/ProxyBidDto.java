@@ -0,0 +1,10 @@
+package imbuy.bid.application.dto;
+
+import java.math.BigDecimal;
+
+public record ProxyBidDto(
+        Long lot_id,
+        BigDecimal max_amount,
+        BigDecimal current_amount,
+        boolean leading
+) {}
@@ -1,16 +1,46 @@
 package imbuy.bid.application.port.in;
 
 import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.dto.BidPageDto;
 import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.dto.CreateProxyBidDto;
+import imbuy.bid.application.dto.ProxyBidDto;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface BidUseCase {
 
     Flux<BidDto> getBidsByLotId(Long lotId, Pageable pageable);
 
-    Mono<BidDto> placeBid(Long lotId, CreateBidDto dto, Long userId);
+    Mono<BidPageDto> getBidsByLotId(Long lotId, String cursor, int size);
+
+    Flux<BidDto> streamBids(Long lotId);
+
+    default Mono<BidDto> placeBid(Long lotId, CreateBidDto dto, Long userId) {
+        return placeBid(lotId, dto, userId, null);
+    }
+
+    /**
+     * Places a bid. With an {@code idempotencyKey} a repeated submission returns the bid
+     * placed the first time instead of placing another one.
+     */
+    Mono<BidDto> placeBid(Long lotId, CreateBidDto dto, Long userId, String idempotencyKey);
+
+    /**
+     * Registers or replaces the user's maximum for the lot and immediately bids on their behalf if needed.
+     */
+    Mono<ProxyBidDto> placeProxyBid(Long lotId, CreateProxyBidDto dto, Long userId);
+
+    Mono<Void> cancelProxyBid(Long lotId, Long userId);
 
     Mono<Long> getAuctionWinnerId(Long lotId);
+
+    /**
+     * Winner per lot; lots without bids are left out.
+     */
+    Mono<Map<Long, Long>> getAuctionWinnerIds(Collection<Long> lotIds);
 }
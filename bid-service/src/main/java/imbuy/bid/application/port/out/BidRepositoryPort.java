@@ -1,22 +1,51 @@
 package imbuy.bid.application.port.out;
 
 import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.TopOfBook;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface BidRepositoryPort {
 
-    Flux<Bid> findByLotId(Long lotId, org.springframework.data.domain.Pageable pageable);
+    Flux<Bid> findByLotId(Long lotId, org.springframework.data.domain.Pageable pageable, ReadConsistency consistency);
+
+    /**
+     * Newest-first bids of a lot strictly older than ({@code createdAt}, {@code id}),
+     * or the newest ones when {@code createdAt} is null.
+     */
+    Flux<Bid> findByLotIdBefore(Long lotId, LocalDateTime createdAt, Long id, int limit, ReadConsistency consistency);
 
     Mono<Bid> save(Bid bid);
 
+    /**
+     * Saves the bids in one transaction, in the given order.
+     */
+    Flux<Bid> saveAll(List<Bid> bids);
+
+    /**
+     * Bid the bidder previously submitted with the given Idempotency-Key.
+     */
+    Mono<Bid> findByIdempotencyKey(Long bidderId, String idempotencyKey);
+
+    Mono<Integer> deleteIdempotencyKeysBefore(LocalDateTime before);
+
     Mono<BigDecimal> findMaxBidAmountByLotId(Long lotId);
 
     Mono<Long> countBidsForLot(Long lotId);
 
     Mono<Bid> findHighestBidByLotId(Long lotId);
 
+    /**
+     * Highest bid of every given lot that has bids, in one round trip.
+     */
+    Flux<Bid> findHighestBidsByLotIds(Collection<Long> lotIds);
+
+    Mono<TopOfBook> findTopOfBook(Long lotId);
+
     Mono<Void> deleteAll();
 }
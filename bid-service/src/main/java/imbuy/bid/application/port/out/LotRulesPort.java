@@ -0,0 +1,12 @@
+package imbuy.bid.application.port.out;
+
+import imbuy.bid.domain.model.LotRules;
+import reactor.core.publisher.Mono;
+
+public interface LotRulesPort {
+
+    /**
+     * Current bidding rules of the lot, asked from lot-service.
+     */
+    Mono<LotRules> findRules(Long lotId);
+}
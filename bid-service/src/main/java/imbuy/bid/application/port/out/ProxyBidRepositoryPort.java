@@ -0,0 +1,20 @@
+package imbuy.bid.application.port.out;
+
+import imbuy.bid.domain.model.ProxyBid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ProxyBidRepositoryPort {
+
+    Flux<ProxyBid> findByLotId(Long lotId);
+
+    /**
+     * Registers the bidder's maximum, in minor units, for the lot, replacing an earlier one.
+     */
+    Mono<ProxyBid> save(Long lotId, Long bidderId, long maxAmount);
+
+    /**
+     * Emits whether the bidder had a maximum registered for the lot.
+     */
+    Mono<Boolean> delete(Long lotId, Long bidderId);
+}
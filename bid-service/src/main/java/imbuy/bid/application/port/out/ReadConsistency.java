@@ -0,0 +1,17 @@
+package imbuy.bid.application.port.out;
+
+/**
+ * How fresh a read has to be. Only {@link #STALE_OK} reads may be served by a read replica.
+ */
+public enum ReadConsistency {
+
+    /**
+     * Must see every committed bid, e.g. anything validation or the live stream relies on.
+     */
+    LATEST,
+
+    /**
+     * May lag the primary by the replication delay, e.g. browsing bid history.
+     */
+    STALE_OK
+}
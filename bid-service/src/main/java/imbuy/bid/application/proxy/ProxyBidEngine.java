@@ -0,0 +1,121 @@
+package imbuy.bid.application.proxy;
+
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.ProxyBid;
+import imbuy.bid.domain.model.TopOfBook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Proxy (maximum) bidding. Whenever the lot's price changes, competing proxies are resolved
+ * in a single step: the strongest proxy ends up leading one increment above the runner-up,
+ * instead of the proxies outbidding each other increment by increment.
+ * <p>
+ * All calls for a lot must run on its {@code BidSequencer} lane. The lot's maximums are read
+ * from {@code proxy_bids} on every resolution rather than cached: they may have been registered
+ * or cancelled through another instance, and every instance has to resolve the same auction.
+ */
+@Slf4j
+@Component
+public class ProxyBidEngine {
+
+    // Highest maximum first; on equal maximums the one set earlier wins
+    private static final Comparator<ProxyBid> STRONGEST_FIRST = Comparator
+            .comparing(ProxyBid::getMaxAmountMinor, Comparator.reverseOrder())
+            .thenComparing(ProxyBid::getUpdatedAt)
+            .thenComparing(ProxyBid::getId);
+
+    private final ProxyBidRepositoryPort repository;
+    private final Counter autoBids;
+
+    public ProxyBidEngine(ProxyBidRepositoryPort repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.autoBids = meterRegistry.counter("bid.proxy.auto_bids");
+    }
+
+    public Mono<ProxyBid> register(Long lotId, Long bidderId, long maxAmount) {
+        return repository.save(lotId, bidderId, maxAmount);
+    }
+
+    public Mono<Boolean> cancel(Long lotId, Long bidderId) {
+        return repository.delete(lotId, bidderId);
+    }
+
+    /**
+     * Bids to place on behalf of proxy bidders so that the lot ends up led by the strongest
+     * proxy, in the order they must be saved; empty if nothing changes.
+     */
+    public Mono<List<Bid>> resolve(TopOfBook book, LotRules rules) {
+        if (!rules.isOpen(LocalDateTime.now())) {
+            return Mono.just(List.of());
+        }
+        return repository.findByLotId(book.getLotId())
+                .collectList()
+                .map(proxies -> autoBidsFor(book, rules, proxies))
+                .doOnNext(bids -> autoBids.increment(bids.size()));
+    }
+
+    static List<Bid> autoBidsFor(TopOfBook book, LotRules rules, List<ProxyBid> proxies) {
+        Long leader = book.hasBids() ? book.getHighestBidderId() : null;
+        long required = rules.minimumNextBid(book);
+        long step = rules.getBidStep();
+
+        // Proxies that can no longer outbid the current price are out, except the leader's own
+        List<ProxyBid> ranked = proxies.stream()
+                .filter(proxy -> proxy.getBidderId().equals(leader)
+                        || proxy.getMaxAmountMinor() >= required)
+                .sorted(STRONGEST_FIRST)
+                .toList();
+        if (ranked.isEmpty() || ranked.size() == 1 && ranked.get(0).getBidderId().equals(leader)) {
+            return List.of();
+        }
+
+        ProxyBid winner = ranked.get(0);
+        ProxyBid runnerUp = ranked.size() > 1 ? ranked.get(1) : null;
+        boolean winnerLeads = winner.getBidderId().equals(leader);
+
+        // The winner has to beat the runner-up's maximum and, unless it already leads, the current price;
+        // with nothing to beat it opens at the lot's minimum
+        long target = required;
+        if (runnerUp != null) {
+            target = runnerUp.getMaxAmountMinor() + step;
+        }
+        if (book.hasBids() && !winnerLeads) {
+            target = Math.max(target, book.getHighestAmountMinor() + step);
+        }
+        long amount = Math.min(winner.getMaxAmountMinor(), target);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Bid> bids = new ArrayList<>(2);
+        // The runner-up's last bid goes into the history too, as long as it is a valid bid
+        // and the winner still clears it by an increment
+        if (runnerUp != null
+                && runnerUp.getMaxAmountMinor() >= required
+                && amount >= runnerUp.getMaxAmountMinor() + step) {
+            bids.add(autoBid(runnerUp, runnerUp.getMaxAmountMinor(), step, now));
+        }
+        bids.add(autoBid(winner, amount, step, now));
+        return bids;
+    }
+
+    private static Bid autoBid(ProxyBid proxy, long amount, long step, LocalDateTime createdAt) {
+        return Bid.builder()
+                .lotId(proxy.getLotId())
+                .bidderId(proxy.getBidderId())
+                .amountMinor(amount)
+                .createdAt(createdAt)
+                .autoPlaced(true)
+                .bidStep(step)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package imbuy.bid.application.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per bidder and per lot for bid submission, checked before anything
+ * touches the database.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (GCRA), updated with compare-and-set, so there are no locks on the hot path. A bucket that
+ * has refilled completely carries no state and is dropped by the periodic sweep, which bounds
+ * memory by the number of recently active bidders and lots. Limits come from
+ * {@code app.bid.rate-limit.*}.
+ */
+@Slf4j
+@Component
+public class BidRateLimiter {
+
+    private final boolean enabled;
+    private final Limit bidderLimit;
+    private final Limit lotLimit;
+    private final Map<Long, AtomicLong> bidderBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> lotBuckets = new ConcurrentHashMap<>();
+    private final Counter bidderRejected;
+    private final Counter lotRejected;
+
+    public BidRateLimiter(
+            @Value("${app.bid.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.bid.rate-limit.bidder.permits-per-second:5}") double bidderRate,
+            @Value("${app.bid.rate-limit.bidder.burst:10}") int bidderBurst,
+            @Value("${app.bid.rate-limit.lot.permits-per-second:200}") double lotRate,
+            @Value("${app.bid.rate-limit.lot.burst:400}") int lotBurst,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.bidderLimit = new Limit(bidderRate, bidderBurst);
+        this.lotLimit = new Limit(lotRate, lotBurst);
+        this.bidderRejected = meterRegistry.counter("bid.rate_limit.rejected", "scope", "bidder");
+        this.lotRejected = meterRegistry.counter("bid.rate_limit.rejected", "scope", "lot");
+        meterRegistry.gaugeMapSize("bid.rate_limit.keys", Tags.of("scope", "bidder"), bidderBuckets);
+        meterRegistry.gaugeMapSize("bid.rate_limit.keys", Tags.of("scope", "lot"), lotBuckets);
+        log.info("Bid rate limit {}: {}/s (burst {}) per bidder, {}/s (burst {}) per lot",
+                enabled ? "enabled" : "disabled", bidderRate, bidderBurst, lotRate, lotBurst);
+    }
+
+    /**
+     * Takes one permit from the bidder's and the lot's bucket, or from neither.
+     *
+     * @throws RateLimitExceededException if either bucket is empty
+     */
+    public void acquire(Long bidderId, Long lotId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = tryAcquire(bidderBuckets, bidderId, bidderLimit, now);
+        if (wait > 0) {
+            bidderRejected.increment();
+            throw new RateLimitExceededException("Too many bids, please slow down", toRetryAfter(wait));
+        }
+        wait = tryAcquire(lotBuckets, lotId, lotLimit, now);
+        if (wait > 0) {
+            // The bid does not go through, so it must not use up the bidder's allowance either
+            release(bidderBuckets, bidderId, bidderLimit);
+            lotRejected.increment();
+            throw new RateLimitExceededException("Too many bids on this lot, please retry", toRetryAfter(wait));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.bid.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        // A bucket that is full again behaves exactly like a missing one
+        bidderBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        lotBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * Returns 0 if a permit was taken, otherwise how many nanoseconds until one is available.
+     */
+    private static long tryAcquire(Map<Long, AtomicLong> buckets, Long key, Limit limit, long now) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt - now, 0) + limit.intervalNanos;
+            if (next > limit.burstNanos) {
+                return next - limit.burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, now + next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire}.
+     */
+    private static void release(Map<Long, AtomicLong> buckets, Long key, Limit limit) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-limit.intervalNanos);
+        }
+    }
+
+    private static long toRetryAfter(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static final class Limit {
+        // Time for one permit to refill, and for the whole burst
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private Limit(double permitsPerSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.burstNanos = intervalNanos * Math.max(burst, 1);
+        }
+    }
+}
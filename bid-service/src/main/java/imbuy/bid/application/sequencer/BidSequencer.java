@@ -0,0 +1,198 @@
+package imbuy.bid.application.sequencer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Serializes work per lot without database locks. Lots are hashed onto a fixed
+ * number of lanes; each lane runs one task at a time on its own thread and starts
+ * the next one only after the previous task has completed, so the validate-then-save
+ * sequence of a bid never interleaves with another bid on the same lot.
+ * <p>
+ * Every lane accepts at most {@code app.bid.sequencer.queue-capacity} pending tasks.
+ * Anything above that is rejected with 503 so callers back off instead of piling up.
+ * <p>
+ * A started task that has not finished within {@code app.bid.sequencer.task-timeout} is
+ * cancelled and fails with 503, so one hung database call cannot stall every lot on its lane.
+ * Whether its writes were applied is then unknown to the caller; a cancelled transaction is
+ * rolled back, and one that did commit is caught by the database guard of the next bid.
+ */
+@Slf4j
+@Component
+public class BidSequencer implements DisposableBean {
+
+    private final Lane[] lanes;
+    private final int queueCapacity;
+    private final Duration taskTimeout;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public BidSequencer(
+            @Value("${app.bid.sequencer.lanes:0}") int lanes,
+            @Value("${app.bid.sequencer.queue-capacity:256}") int queueCapacity,
+            @Value("${app.bid.sequencer.task-timeout:PT10S}") Duration taskTimeout,
+            MeterRegistry meterRegistry) {
+        int laneCount = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.taskTimeout = taskTimeout;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = new Lane(Schedulers.newSingle("bid-lane-" + i));
+        }
+        this.rejected = meterRegistry.counter("bid.sequencer.rejected");
+        this.timedOut = meterRegistry.counter("bid.sequencer.timed_out");
+        Gauge.builder("bid.sequencer.pending", this.lanes,
+                        all -> Arrays.stream(all).mapToInt(lane -> lane.pending.get()).sum())
+                .register(meterRegistry);
+        log.info("Bid sequencer started with {} lanes, {} pending tasks per lane, task timeout {}",
+                laneCount, queueCapacity, taskTimeout);
+    }
+
+    /**
+     * Runs the task after every task previously submitted for a lot on the same lane has finished.
+     * The task is not started if the caller cancels while it is still queued.
+     */
+    public <T> Mono<T> submit(Long lotId, Supplier<Mono<T>> task) {
+        return Mono.create(sink -> {
+            Lane lane = lanes[laneIndex(lotId)];
+            if (lane.pending.incrementAndGet() > queueCapacity) {
+                lane.pending.decrementAndGet();
+                rejected.increment();
+                sink.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many bids in progress for this lot, please retry"
+                ));
+                return;
+            }
+            Task<T> queued = new Task<>(() -> withTimeout(task.get()), sink);
+            sink.onCancel(queued::cancel);
+            lane.enqueue(queued);
+        });
+    }
+
+    private <T> Mono<T> withTimeout(Mono<T> work) {
+        return work.timeout(taskTimeout, Mono.defer(() -> {
+            timedOut.increment();
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "The operation on this lot timed out and may or may not have been applied"
+            ));
+        }));
+    }
+
+    private int laneIndex(Long lotId) {
+        int h = Long.hashCode(lotId);
+        h ^= (h >>> 16);
+        return Math.floorMod(h, lanes.length);
+    }
+
+    @Override
+    public void destroy() {
+        for (Lane lane : lanes) {
+            lane.scheduler.dispose();
+        }
+    }
+
+    private static final class Lane {
+        private final Scheduler scheduler;
+        private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+        // Queued plus in-flight tasks
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Lane(Scheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        private void enqueue(Task<?> task) {
+            queue.offer(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (running.compareAndSet(false, true)) {
+                scheduler.schedule(this::runNext);
+            }
+        }
+
+        private void runNext() {
+            Task<?> task = queue.poll();
+            if (task == null) {
+                running.set(false);
+                // A task may have been offered between poll() and the flag reset
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+                return;
+            }
+            task.run(this::onTaskDone);
+        }
+
+        private void onTaskDone() {
+            pending.decrementAndGet();
+            scheduler.schedule(this::runNext);
+        }
+    }
+
+    private static final class Task<T> {
+        private final Supplier<Mono<T>> work;
+        private final MonoSink<T> sink;
+        private volatile boolean cancelled;
+
+        private Task(Supplier<Mono<T>> work, MonoSink<T> sink) {
+            this.work = work;
+            this.sink = sink;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void run(Runnable onDone) {
+            if (cancelled) {
+                onDone.run();
+                return;
+            }
+            Mono<T> mono;
+            try {
+                mono = work.get();
+            } catch (Throwable e) {
+                sink.error(e);
+                onDone.run();
+                return;
+            }
+            // Once started the task runs until it completes or times out even if the caller goes away,
+            // otherwise a half-applied bid could be overtaken by the next one
+            mono.subscribe(
+                    sink::success,
+                    error -> {
+                        sink.error(error);
+                        onDone.run();
+                    },
+                    () -> {
+                        sink.success();
+                        onDone.run();
+                    }
+            );
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package imbuy.bid.application.service;
 
-import com.imbuy.events.TopicNames;
-import com.imbuy.events.bid.BidPlacedEvent;
+import imbuy.bid.application.cache.IdempotencyCache;
+import imbuy.bid.application.cache.LotRulesCache;
+import imbuy.bid.application.cache.TopOfBookCache;
+import imbuy.bid.application.dto.BidCursor;
 import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.dto.BidPageDto;
 import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.dto.CreateProxyBidDto;
+import imbuy.bid.application.dto.ProxyBidDto;
 import imbuy.bid.application.mapper.BidMapper;
 import imbuy.bid.application.port.in.BidUseCase;
 import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.ReadConsistency;
+import imbuy.bid.application.proxy.ProxyBidEngine;
+import imbuy.bid.application.ratelimit.BidRateLimiter;
+import imbuy.bid.application.sequencer.BidSequencer;
+import imbuy.bid.application.stream.BidStreamHub;
 import imbuy.bid.domain.model.Bid;
-import lombok.RequiredArgsConstructor;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.domain.model.ProxyBid;
+import imbuy.bid.domain.model.TopOfBook;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
@@ -19,85 +36,355 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class BidService implements BidUseCase {
 
+    private static final String ACCEPTED = "accepted";
+    private static final String TOO_LOW = "too_low";
+    private static final String REJECTED = "rejected";
+    private static final String ERROR = "error";
+
     private final BidRepositoryPort repository;
     private final BidMapper mapper;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TopOfBookCache topOfBook;
+    private final LotRulesCache lotRules;
+    private final BidSequencer sequencer;
+    private final BidStreamHub streamHub;
+    private final ProxyBidEngine proxyBids;
+    private final IdempotencyCache idempotency;
+    private final BidRateLimiter rateLimiter;
+
+    // bid.place timers of plain and proxy bids, by outcome
+    private final Map<String, Timer> bidTimers;
+    private final Map<String, Timer> proxyBidTimers;
+
+    public BidService(BidRepositoryPort repository,
+                      BidMapper mapper,
+                      TopOfBookCache topOfBook,
+                      LotRulesCache lotRules,
+                      BidSequencer sequencer,
+                      BidStreamHub streamHub,
+                      ProxyBidEngine proxyBids,
+                      IdempotencyCache idempotency,
+                      BidRateLimiter rateLimiter,
+                      MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.topOfBook = topOfBook;
+        this.lotRules = lotRules;
+        this.sequencer = sequencer;
+        this.streamHub = streamHub;
+        this.proxyBids = proxyBids;
+        this.idempotency = idempotency;
+        this.rateLimiter = rateLimiter;
+        this.bidTimers = placeTimers(meterRegistry, "bid");
+        this.proxyBidTimers = placeTimers(meterRegistry, "proxy");
+    }
+
+    private static Map<String, Timer> placeTimers(MeterRegistry meterRegistry, String type) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String outcome : List.of(ACCEPTED, TOO_LOW, REJECTED, ERROR)) {
+            timers.put(outcome, Timer.builder("bid.place")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+
+    /**
+     * Times the whole operation, from rate limiting to the response, under its outcome.
+     */
+    private static <T> Mono<T> timed(Map<String, Timer> timers, Supplier<Mono<T>> operation) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return operation.get()
+                    .doOnSuccess(result -> sample.stop(timers.get(ACCEPTED)))
+                    .doOnError(error -> sample.stop(timers.get(outcomeOf(error))));
+        });
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error instanceof BidTooLowException) {
+            return TOO_LOW;
+        }
+        if (error instanceof ResponseStatusException status && status.getStatusCode().is4xxClientError()) {
+            return REJECTED;
+        }
+        return ERROR;
+    }
 
 
     @Override
     public Flux<BidDto> getBidsByLotId(Long lotId, Pageable pageable) {
-        return repository.findByLotId(lotId, pageable)
+        return repository.findByLotId(lotId, pageable, ReadConsistency.STALE_OK)
                 .map(mapper::mapToDto);
     }
 
     @Override
-    public Mono<BidDto> placeBid(Long lotId, CreateBidDto dto, Long userId) {
-        return validateBid(lotId, dto.amount(), userId)
-                .then(createBid(lotId, dto.amount(), userId))
-                .flatMap(repository::save)
-                .flatMap(savedBid -> {
-                    BidPlacedEvent event = new BidPlacedEvent(
-                            "bid-service",
-                            savedBid.getId(),
-                            savedBid.getLotId(),
-                            savedBid.getBidderId(),
-                            savedBid.getAmount()
-                    );
-
-                    return Mono.fromRunnable(() ->
-                            kafkaTemplate.send(TopicNames.BID_EVENTS, event)
-                    ).thenReturn(savedBid);
-                })
+    public Mono<BidPageDto> getBidsByLotId(Long lotId, String cursor, int size) {
+        BidCursor after = cursor == null || cursor.isBlank() ? null : BidCursor.decode(cursor);
+
+        // One extra row tells whether there is a next page
+        return repository.findByLotIdBefore(
+                        lotId,
+                        after != null ? after.createdAt() : null,
+                        after != null ? after.id() : null,
+                        size + 1,
+                        ReadConsistency.STALE_OK)
+                .collectList()
+                .map(bids -> {
+                    boolean hasMore = bids.size() > size;
+                    List<Bid> page = hasMore ? bids.subList(0, size) : bids;
+                    String next = null;
+                    if (hasMore) {
+                        Bid last = page.get(page.size() - 1);
+                        next = new BidCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return new BidPageDto(page.stream().map(mapper::mapToDto).toList(), next);
+                });
+    }
+
+    @Override
+    public Flux<BidDto> streamBids(Long lotId) {
+        return streamHub.subscribe(lotId)
                 .map(mapper::mapToDto);
     }
 
+    @Override
+    public Mono<BidDto> placeBid(Long lotId, CreateBidDto dto, Long userId, String idempotencyKey) {
+        return timed(bidTimers, () -> Mono.fromSupplier(() -> toMinorUnits(dto.amount()))
+                // A retry of a committed bid gets it back without being validated or throttled again
+                .flatMap(amount -> previousBid(userId, idempotencyKey)
+                        .flatMap(previous -> replay(previous, lotId, amount))
+                        // Throttled before anything new reaches the database
+                        .switchIfEmpty(Mono.fromRunnable(() -> rateLimiter.acquire(userId, lotId))
+                                .then(Mono.defer(() -> placeBidOnce(lotId, amount, userId, idempotencyKey)))))
+                .map(mapper::mapToDto));
+    }
+
+    private Mono<Bid> previousBid(Long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Mono.empty();
+        }
+        Bid cached = idempotency.getIfPresent(userId, idempotencyKey);
+        return cached != null ? Mono.just(cached) : idempotency.find(userId, idempotencyKey);
+    }
+
+    private Mono<Bid> placeBidOnce(Long lotId, long amount, Long userId, String idempotencyKey) {
+        // Bids on closed or expired lots are turned away before they queue on the lane
+        return lotRules.get(lotId)
+                .flatMap(rules -> ensureOpen(rules)
+                        .then(Mono.defer(() -> submitBid(rules, amount, userId, idempotencyKey))));
+    }
+
+    private Mono<Bid> submitBid(LotRules rules, long amount, Long userId, String idempotencyKey) {
+        Long lotId = rules.getLotId();
+        if (idempotencyKey == null) {
+            // Validation and save must not interleave with other bids on the same lot
+            return sequencer.submit(lotId, () -> placeAndResolve(rules, amount, userId, null));
+        }
+        // Checked again on the lane: a retry racing the original runs right after it
+        return sequencer.submit(lotId, () -> idempotency.find(userId, idempotencyKey)
+                        .flatMap(previous -> replay(previous, lotId, amount))
+                        .switchIfEmpty(Mono.defer(() -> placeAndResolve(rules, amount, userId, idempotencyKey)
+                                .doOnNext(bid -> idempotency.remember(bid, idempotencyKey)))))
+                // Another instance stored a bid under the same key first
+                .onErrorResume(DataIntegrityViolationException.class, e -> idempotency.find(userId, idempotencyKey)
+                        .flatMap(previous -> replay(previous, lotId, amount))
+                        .switchIfEmpty(Mono.error(e)));
+    }
+
+    private Mono<Void> ensureOpen(LotRules rules) {
+        if (!rules.isOpen(LocalDateTime.now())) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Lot is not open for bidding"
+            ));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Bid> replay(Bid previous, Long lotId, long amount) {
+        if (!previous.getLotId().equals(lotId) || previous.getAmountMinor() != amount) {
+            return Mono.error(new ResponseStatusException(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different bid"
+            ));
+        }
+        return Mono.just(previous);
+    }
+
+    private Mono<Bid> placeAndResolve(LotRules rules, long amount, Long userId, String idempotencyKey) {
+        return validateAndSave(rules, amount, userId, idempotencyKey)
+                .flatMap(bid -> resolveProxyBids(rules)
+                        .onErrorResume(e -> {
+                            // The bid itself is committed; proxies get another chance on the next bid
+                            log.warn("Proxy bid resolution failed for lot {}: {}", rules.getLotId(), e.getMessage());
+                            return Mono.empty();
+                        })
+                        .thenReturn(bid));
+    }
+
+    @Override
+    public Mono<ProxyBidDto> placeProxyBid(Long lotId, CreateProxyBidDto dto, Long userId) {
+        return timed(proxyBidTimers, () -> Mono.fromRunnable(() -> rateLimiter.acquire(userId, lotId))
+                .then(Mono.fromSupplier(() -> toMinorUnits(dto.max_amount())))
+                .flatMap(maxAmount -> lotRules.get(lotId)
+                        .flatMap(rules -> ensureOpen(rules).then(sequencer.submit(lotId, () -> topOfBook.get(lotId)
+                                .flatMap(book -> validateProxyBid(book, rules, maxAmount, userId))
+                                .then(proxyBids.register(lotId, userId, maxAmount))
+                                .flatMap(proxy -> resolveProxyBids(rules)
+                                        .then(Mono.defer(() -> topOfBook.get(lotId)))
+                                        .map(book -> toProxyBidDto(proxy, book))))))));
+    }
+
+    @Override
+    public Mono<Void> cancelProxyBid(Long lotId, Long userId) {
+        return sequencer.submit(lotId, () -> proxyBids.cancel(lotId, userId))
+                .flatMap(deleted -> deleted
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResponseStatusException(
+                                HttpStatus.NOT_FOUND,
+                                "No maximum bid registered for this lot"
+                        )));
+    }
 
-    private Mono<Void> validateBid(Long lotId, BigDecimal amount, Long bidderId) {
-        return repository.findMaxBidAmountByLotId(lotId)
-                .flatMap(maxBid -> {
-                    if (maxBid != null) {
-                        BigDecimal minBid = maxBid.add(new BigDecimal("10.00"));
-                        if (amount.compareTo(minBid) < 0) {
-                            return Mono.error(
-                                    new ResponseStatusException(
-                                            HttpStatus.BAD_REQUEST,
-                                            String.format("Bid must be at least %.2f", minBid)
-                                    )
-                            );
-                        }
+    private Mono<Void> validateProxyBid(TopOfBook book, LotRules rules, long maxAmount, Long bidderId) {
+        // The leader may raise the maximum but not drop it below their standing bid
+        long minimum = book.hasBids() && book.getHighestBidderId().equals(bidderId)
+                ? book.getHighestAmountMinor()
+                : rules.minimumNextBid(book);
+        if (maxAmount < minimum) {
+            return Mono.error(new BidTooLowException("Maximum bid must be at least " + Money.format(minimum)));
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Places whatever bids registered proxies need to make after the lot's price changed,
+     * all in one transaction. Must run on the lot's sequencer lane.
+     */
+    private Mono<Void> resolveProxyBids(LotRules rules) {
+        return topOfBook.get(rules.getLotId())
+                .flatMap(book -> proxyBids.resolve(book, rules))
+                .filter(bids -> !bids.isEmpty())
+                .flatMapMany(repository::saveAll)
+                .doOnNext(topOfBook::onBidSaved)
+                .doOnNext(streamHub::publish)
+                .then()
+                // Another instance moved the price; the proxies are resolved again on the next bid
+                .onErrorResume(OptimisticLockingFailureException.class, e -> {
+                    topOfBook.evictStale(rules.getLotId());
+                    return Mono.empty();
+                });
+    }
+
+    private ProxyBidDto toProxyBidDto(ProxyBid proxy, TopOfBook book) {
+        return new ProxyBidDto(
+                proxy.getLotId(),
+                proxy.getMaxAmount(),
+                book.getHighestAmount(),
+                book.hasBids() && book.getHighestBidderId().equals(proxy.getBidderId())
+        );
+    }
+
+    private Mono<Bid> validateAndSave(LotRules rules, long amount, Long userId, String idempotencyKey) {
+        return validateBid(rules, amount)
+                .then(createBid(rules, amount, userId, idempotencyKey))
+                .flatMap(repository::save)
+                .onErrorResume(OptimisticLockingFailureException.class, e -> outbidElsewhere(rules, amount))
+                .doOnNext(topOfBook::onBidSaved)
+                .doOnNext(streamHub::publish);
+    }
+
+    /**
+     * The database refused a bid the cached book accepted: another instance placed a higher bid.
+     * The book is reloaded so the bidder is told the actual minimum.
+     */
+    private Mono<Bid> outbidElsewhere(LotRules rules, long amount) {
+        topOfBook.evictStale(rules.getLotId());
+        return validateBid(rules, amount)
+                .then(Mono.error(new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Lot received a higher bid in the meantime, please retry"
+                )));
+    }
+
+
+    private Mono<Void> validateBid(LotRules rules, long amount) {
+        return topOfBook.get(rules.getLotId())
+                .flatMap(book -> {
+                    long minBid = rules.minimumNextBid(book);
+                    if (amount < minBid) {
+                        return Mono.error(new BidTooLowException("Bid must be at least " + Money.format(minBid)));
                     }
                     return Mono.empty();
                 })
                 .then();
     }
 
-    private Mono<Bid> createBid(Long lotId, BigDecimal amount, Long bidderId) {
+    private Mono<Bid> createBid(LotRules rules, long amount, Long bidderId, String idempotencyKey) {
         return Mono.just(
                 Bid.builder()
-                        .lotId(lotId)
+                        .lotId(rules.getLotId())
                         .bidderId(bidderId)
-                        .amount(amount)
+                        .amountMinor(amount)
                         .createdAt(LocalDateTime.now())
+                        .idempotencyKey(idempotencyKey)
+                        .bidStep(rules.getBidStep())
                         .build()
         );
     }
 
+    /**
+     * Amounts are validated and compared in minor units; the request's {@link BigDecimal} is converted once here.
+     */
+    private static long toMinorUnits(BigDecimal amount) {
+        try {
+            return Money.toMinor(amount);
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Amount must have at most " + Money.SCALE + " decimal places"
+            );
+        }
+    }
+
     @Override
     public Mono<Long> getAuctionWinnerId(Long lotId) {
-        return repository.countBidsForLot(lotId)
-                .flatMap(count -> {
-                    if (count > 0) {
-                        return repository.findHighestBidByLotId(lotId)
-                                .map(Bid::getBidderId);
-                    } else {
-                        return Mono.just(0L);
-                    }
-                })
+        return topOfBook.get(lotId)
+                .map(book -> book.hasBids() ? book.getHighestBidderId() : 0L)
                 .defaultIfEmpty(0L);
     }
+
+    @Override
+    public Mono<Map<Long, Long>> getAuctionWinnerIds(Collection<Long> lotIds) {
+        Map<Long, Long> winners = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long lotId : new LinkedHashSet<>(lotIds)) {
+            TopOfBook book = topOfBook.getIfPresent(lotId);
+            if (book == null) {
+                uncached.add(lotId);
+            } else if (book.hasBids()) {
+                winners.put(lotId, book.getHighestBidderId());
+            }
+        }
+        if (uncached.isEmpty()) {
+            return Mono.just(winners);
+        }
+        return repository.findHighestBidsByLotIds(uncached)
+                .doOnNext(bid -> winners.put(bid.getLotId(), bid.getBidderId()))
+                .then(Mono.fromSupplier(() -> winners));
+    }
 }
@@ -0,0 +1,16 @@
+package imbuy.bid.application.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 400 for a bid or maximum bid below the lot's minimum; counted separately from other rejections.
+ */
+public class BidTooLowException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BidTooLowException(String reason) {
+        super(HttpStatus.BAD_REQUEST, reason);
+    }
+}
@@ -0,0 +1,126 @@
+package imbuy.bid.application.stream;
+
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.ReadConsistency;
+import imbuy.bid.domain.model.Bid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of accepted bids to the live subscribers of a lot connected to this instance.
+ * <p>
+ * Bids saved by this instance are published as soon as they are saved. Bids saved by other
+ * instances arrive from the bid events topic, and so do this instance's own a moment later;
+ * each lot remembers the ids it has recently emitted and drops such repeats.
+ * <p>
+ * A lot has a multicast sink only while someone is watching it, so publishing for
+ * unwatched lots costs a map lookup. Each subscriber first receives the last
+ * {@code app.bid.stream.snapshot-size} bids and then live ones, through its own buffer
+ * of {@code app.bid.stream.buffer-size}; when a slow client lets it fill up,
+ * the oldest bids are dropped.
+ */
+@Component
+public class BidStreamHub {
+
+    private final BidRepositoryPort repository;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+
+    @Value("${app.bid.stream.snapshot-size:20}")
+    private int snapshotSize;
+
+    @Value("${app.bid.stream.buffer-size:256}")
+    private int bufferSize;
+
+    public BidStreamHub(BidRepositoryPort repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.dropped = meterRegistry.counter("bid.stream.dropped");
+        meterRegistry.gauge("bid.stream.subscribers", subscribers);
+        meterRegistry.gaugeMapSize("bid.stream.lots", Tags.empty(), channels);
+    }
+
+    public void publish(Bid bid) {
+        Channel channel = channels.get(bid.getLotId());
+        if (channel != null) {
+            channel.emit(bid);
+        }
+    }
+
+    /**
+     * Recent bids of the lot, oldest first, followed by every bid accepted from now on.
+     */
+    public Flux<Bid> subscribe(Long lotId) {
+        return Flux.defer(() -> {
+            Channel channel = acquire(lotId);
+            // Start listening before the snapshot is read so that no bid falls in between
+            ConnectableFlux<Bid> live = channel.sink.asFlux().replay(bufferSize);
+            Disposable connection = live.connect();
+
+            // A lagging replica could miss bids placed before the live feed was connected
+            return repository.findByLotIdBefore(lotId, null, null, snapshotSize, ReadConsistency.LATEST)
+                    .collectList()
+                    .flatMapMany(snapshot -> {
+                        long lastSeen = snapshot.stream().mapToLong(Bid::getId).max().orElse(0);
+                        Collections.reverse(snapshot);
+                        return Flux.fromIterable(snapshot)
+                                .concatWith(live.filter(bid -> bid.getId() > lastSeen));
+                    })
+                    .onBackpressureBuffer(bufferSize, bid -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> {
+                        connection.dispose();
+                        release(lotId);
+                    });
+        });
+    }
+
+    private Channel acquire(Long lotId) {
+        subscribers.incrementAndGet();
+        return channels.compute(lotId, (id, channel) -> {
+            Channel acquired = channel != null ? channel : new Channel();
+            acquired.refs++;
+            return acquired;
+        });
+    }
+
+    private void release(Long lotId) {
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(lotId, (id, channel) -> --channel.refs == 0 ? null : channel);
+    }
+
+    private static final class Channel {
+        // A repeat arrives from the topic within the outbox poll interval, well inside this window
+        private static final int RECENT_IDS = 256;
+
+        private final Sinks.Many<Bid> sink = Sinks.many().multicast().directBestEffort();
+        private final Map<Long, Boolean> recentIds = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > RECENT_IDS;
+            }
+        };
+        // Guarded by the map's compute for this lot
+        private int refs;
+
+        // The sequencer lane and the Kafka listener both publish, so emits are serialized here
+        private synchronized void emit(Bid bid) {
+            if (recentIds.put(bid.getId(), Boolean.TRUE) == null) {
+                sink.tryEmitNext(bid);
+            }
+        }
+    }
+}
@@ -15,6 +15,30 @@ public class Bid {
     private Long id;
     private Long lotId;
     private Long bidderId;
-    private BigDecimal amount;
+    // In minor units, see Money; getAmount() and the builder's amount() convert at the boundaries
+    private long amountMinor;
     private LocalDateTime createdAt;
+    // Placed by the proxy bidding engine rather than by the bidder
+    private boolean autoPlaced;
+    // Idempotency-Key the bidder submitted the bid with, if any; stored next to the bid, not in it
+    private String idempotencyKey;
+    // Bid step of the lot in minor units; the bid is only written if it clears the stored
+    // highest bid by at least this much. Not stored
+    private long bidStep;
+
+    public BigDecimal getAmount() {
+        return Money.toDecimal(amountMinor);
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amountMinor = Money.toMinor(amount);
+    }
+
+    public static class BidBuilder {
+
+        public BidBuilder amount(BigDecimal amount) {
+            this.amountMinor = Money.toMinor(amount);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package imbuy.bid.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bidding rules of a lot, replicated from lot-service. Amounts are in minor units, see {@link Money}.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class LotRules {
+
+    public static final String ACTIVE = "ACTIVE";
+
+    private final Long lotId;
+    private final long startPrice;
+    private final long bidStep;
+    private final LocalDateTime endDate;
+    private final String status;
+
+    /**
+     * Whether bids are accepted: the lot is ACTIVE and has not reached its end date.
+     */
+    public boolean isOpen(LocalDateTime now) {
+        return ACTIVE.equals(status) && (endDate == null || now.isBefore(endDate));
+    }
+
+    /**
+     * Lowest amount the next bid may have: the start price for the first bid,
+     * then the highest bid plus the bid step.
+     */
+    public long minimumNextBid(TopOfBook book) {
+        return book.hasBids() ? book.getHighestAmountMinor() + bidStep : startPrice;
+    }
+}
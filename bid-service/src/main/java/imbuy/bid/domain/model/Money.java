@@ -0,0 +1,47 @@
+package imbuy.bid.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Amounts in minor units (cents): a {@code long} with a fixed scale of {@value #SCALE}, the scale
+ * of the {@code amount} columns. Bid validation, the top-of-book cache and proxy resolution
+ * compare and add these without allocating; {@link BigDecimal} is only used where amounts
+ * enter or leave the service, in DTOs, entities and events.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+        // Utility class
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than {@value #SCALE} decimal places
+     *                             or does not fit into a {@code long}
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Plain {@code 1234.50}-style rendering, without going through {@code String.format}.
+     */
+    public static String format(long minor) {
+        long units = Math.abs(minor / 100);
+        int cents = (int) Math.abs(minor % 100);
+        StringBuilder sb = new StringBuilder(24);
+        if (minor < 0) {
+            sb.append('-');
+        }
+        sb.append(units).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package imbuy.bid.domain.model;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Hidden maximum a bidder is willing to pay for a lot. Bids are placed on their behalf,
+ * one increment above the competition, until the maximum is reached.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProxyBid {
+
+    private Long id;
+    private Long lotId;
+    private Long bidderId;
+    // In minor units, see Money
+    private long maxAmountMinor;
+    private LocalDateTime createdAt;
+    // When the current maximum was set; decides between equal maximums
+    private LocalDateTime updatedAt;
+
+    public BigDecimal getMaxAmount() {
+        return Money.toDecimal(maxAmountMinor);
+    }
+
+    public static class ProxyBidBuilder {
+
+        public ProxyBidBuilder maxAmount(BigDecimal maxAmount) {
+            this.maxAmountMinor = Money.toMinor(maxAmount);
+            return this;
+        }
+    }
+}
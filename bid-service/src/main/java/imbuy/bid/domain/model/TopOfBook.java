@@ -0,0 +1,46 @@
+package imbuy.bid.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Current best bid of a lot: highest amount, its bidder and the total number of bids.
+ * Amounts are in minor units, see {@link Money}.
+ */
+@Getter
+@AllArgsConstructor
+public class TopOfBook {
+
+    private final Long lotId;
+    private final long highestAmountMinor;
+    private final Long highestBidderId;
+    private final long bidCount;
+
+    public static TopOfBook empty(Long lotId) {
+        return new TopOfBook(lotId, 0, null, 0);
+    }
+
+    public boolean hasBids() {
+        return bidCount > 0;
+    }
+
+    /**
+     * Highest amount, or {@code null} while there are no bids.
+     */
+    public BigDecimal getHighestAmount() {
+        return hasBids() ? Money.toDecimal(highestAmountMinor) : null;
+    }
+
+    /**
+     * Returns the book after the given bid has been accepted.
+     * Ties keep the earlier bidder, the same way {@code findHighestBidByLotId} orders them.
+     */
+    public TopOfBook apply(Bid bid) {
+        if (!hasBids() || bid.getAmountMinor() > highestAmountMinor) {
+            return new TopOfBook(lotId, bid.getAmountMinor(), bid.getBidderId(), bidCount + 1);
+        }
+        return new TopOfBook(lotId, highestAmountMinor, highestBidderId, bidCount + 1);
+    }
+}
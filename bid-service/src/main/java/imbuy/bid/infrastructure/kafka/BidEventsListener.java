@@ -0,0 +1,46 @@
+package imbuy.bid.infrastructure.kafka;
+
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.bid.BidPlacedEvent;
+import imbuy.bid.application.stream.BidStreamHub;
+import imbuy.bid.domain.model.Bid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BidEventsListener {
+
+    private final BidStreamHub streamHub;
+
+    // A lot's watchers may be connected to any instance, so each one needs its own consumer group,
+    // named after the instance like the lot events one
+    @KafkaListener(
+            topics = TopicNames.BID_EVENTS,
+            groupId = "bid-service-stream.${app.bid.replies.instance-id:${HOSTNAME:${random.uuid}}}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleBidEvent(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        try {
+            if (event instanceof BidPlacedEvent placed) {
+                streamHub.publish(Bid.builder()
+                        .id(placed.getBidId())
+                        .lotId(placed.getLotId())
+                        .bidderId(placed.getBidderId())
+                        .amount(placed.getAmount())
+                        .createdAt(placed.getTimestamp())
+                        .autoPlaced(placed.isAutoPlaced())
+                        .build());
+            }
+        } catch (Exception e) {
+            log.error("Error processing bid event: {}", e.getMessage(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -1,59 +1,208 @@
 package imbuy.bid.infrastructure.kafka;
 
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.ReplyTopics;
 import com.imbuy.events.TopicNames;
 import com.imbuy.events.bid.BidWinnerRequestEvent;
 import com.imbuy.events.bid.BidWinnerResponseEvent;
 import imbuy.bid.application.port.in.BidUseCase;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.Acknowledgment;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers winner requests from {@code bid-requests} in one reactive pipeline: up to
+ * {@code app.bid.requests.concurrency} requests are looked up at a time, responses go out
+ * through a single sender that batches them, and a request's offset is acknowledged only
+ * after its response has been accepted by the broker. Offsets are committed in order
+ * (see {@code KafkaConfig#bidRequestReceiver}), so a restart replays at most the requests
+ * that were not answered yet.
+ * <p>
+ * If the pipeline fails, e.g. a response cannot be sent, it is restarted with backoff
+ * and the unacknowledged requests are received again.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class BidRequestHandler {
+public class BidRequestHandler implements DisposableBean {
 
     private final BidUseCase bidService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaReceiver<String, BaseEvent> receiver;
+    private final KafkaSender<String, Object> sender;
+    private final KafkaPublishTimers publishTimers;
+
+    private final Counter handled;
+    private final Counter failed;
+    private final AtomicLong lag = new AtomicLong();
+
+    @Value("${app.bid.requests.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bid.requests.concurrency:16}")
+    private int concurrency;
+
+    private volatile Disposable pipeline;
+
+    public BidRequestHandler(BidUseCase bidService,
+                             KafkaReceiver<String, BaseEvent> bidRequestReceiver,
+                             KafkaSender<String, Object> bidResponseSender,
+                             KafkaPublishTimers publishTimers,
+                             MeterRegistry meterRegistry) {
+        this.bidService = bidService;
+        this.receiver = bidRequestReceiver;
+        this.sender = bidResponseSender;
+        this.publishTimers = publishTimers;
+        this.handled = meterRegistry.counter("bid.requests.handled");
+        this.failed = meterRegistry.counter("bid.requests.failed");
+        meterRegistry.gauge("bid.requests.lag", lag);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        pipeline = receiver.receive()
+                .flatMap(this::respond, concurrency)
+                .as(sender::send)
+                .doOnNext(result -> {
+                    Pending pending = result.correlationMetadata();
+                    pending.sample().stop(publishTimers.timer(TopicNames.BID_RESPONSES, result.exception() == null));
+                    pending.offset().acknowledge();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Bid request pipeline failed, restarting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
 
-    @KafkaListener(topics = TopicNames.BID_REQUESTS, groupId = "bid-service")
-    public void handleBidWinnerRequest(BidWinnerRequestEvent request, Acknowledgment acknowledgment) {
-        log.info("Received bid winner request: requestId={}, lotId={}", 
+    @Override
+    public void destroy() {
+        Disposable running = pipeline;
+        if (running != null) {
+            running.dispose();
+        }
+    }
+
+    private Mono<SenderRecord<String, Object, Pending>> respond(ReceiverRecord<String, BaseEvent> record) {
+        if (!(record.value() instanceof BidWinnerRequestEvent request)) {
+            // Nothing to answer; the offset still has to be acknowledged to be committed past
+            log.warn("Skipping unexpected record on {} at offset {}", record.topic(), record.offset());
+            record.receiverOffset().acknowledge();
+            return Mono.empty();
+        }
+        Mono<BidWinnerResponseEvent> response = request.getLotIds() != null
+                ? handleBatchWinnerRequest(request)
+                : handleBidWinnerRequest(request);
+        // The requesting instance if it named its reply topic, otherwise the shared topic
+        String replyTopic = ReplyTopics.replyTopic(record.headers(), TopicNames.BID_RESPONSES);
+        return response.map(event -> SenderRecord.create(
+                new ProducerRecord<>(replyTopic, EventKeys.keyOf(event), (Object) event),
+                new Pending(record.receiverOffset(), Timer.start())));
+    }
+
+    private Mono<BidWinnerResponseEvent> handleBidWinnerRequest(BidWinnerRequestEvent request) {
+        log.info("Received bid winner request: requestId={}, lotId={}",
                 request.getRequestId(), request.getLotId());
 
-        bidService.getAuctionWinnerId(request.getLotId())
-                .subscribe(
-                        winnerId -> {
-                            BidWinnerResponseEvent response = new BidWinnerResponseEvent(
-                                    "bid-service",
-                                    request.getRequestId(),
-                                    request.getLotId(),
-                                    winnerId != null && winnerId > 0 ? winnerId : null,
-                                    true,
-                                    null
-                            );
-                            kafkaTemplate.send(TopicNames.BID_RESPONSES, response);
-                            acknowledgment.acknowledge();
-                            log.info("Sent bid winner response: requestId={}, winnerId={}", 
-                                    request.getRequestId(), winnerId);
-                        },
-                        error -> {
-                            log.error("Error processing bid winner request: {}", error.getMessage(), error);
-                            BidWinnerResponseEvent response = new BidWinnerResponseEvent(
-                                    "bid-service",
-                                    request.getRequestId(),
-                                    request.getLotId(),
-                                    null,
-                                    false,
-                                    error.getMessage()
-                            );
-                            kafkaTemplate.send(TopicNames.BID_RESPONSES, response);
-                            acknowledgment.acknowledge();
-                        }
-                );
+        return bidService.getAuctionWinnerId(request.getLotId())
+                .map(winnerId -> new BidWinnerResponseEvent(
+                        "bid-service",
+                        request.getRequestId(),
+                        request.getLotId(),
+                        winnerId != null && winnerId > 0 ? winnerId : null,
+                        true,
+                        null
+                ))
+                .doOnNext(response -> handled.increment())
+                .onErrorResume(error -> {
+                    log.error("Error processing bid winner request: {}", error.getMessage(), error);
+                    failed.increment();
+                    return Mono.just(new BidWinnerResponseEvent(
+                            "bid-service",
+                            request.getRequestId(),
+                            request.getLotId(),
+                            null,
+                            false,
+                            error.getMessage()
+                    ));
+                });
     }
-}
 
+    private Mono<BidWinnerResponseEvent> handleBatchWinnerRequest(BidWinnerRequestEvent request) {
+        log.info("Received batch bid winner request: requestId={}, lots={}",
+                request.getRequestId(), request.getLotIds().size());
+
+        return bidService.getAuctionWinnerIds(request.getLotIds())
+                .map(winners -> new BidWinnerResponseEvent(
+                        "bid-service",
+                        request.getRequestId(),
+                        winners,
+                        true,
+                        null
+                ))
+                .doOnNext(response -> handled.increment())
+                .onErrorResume(error -> {
+                    log.error("Error processing batch bid winner request: {}", error.getMessage(), error);
+                    failed.increment();
+                    return Mono.just(new BidWinnerResponseEvent(
+                            "bid-service",
+                            request.getRequestId(),
+                            null,
+                            false,
+                            error.getMessage()
+                    ));
+                });
+    }
+
+    /**
+     * Refreshes {@code bid.requests.lag}: records on the assigned partitions not consumed yet.
+     */
+    @Scheduled(fixedDelayString = "${app.bid.requests.lag-interval-ms:15000}")
+    public void refreshLag() {
+        Disposable running = pipeline;
+        if (running == null || running.isDisposed()) {
+            return;
+        }
+        receiver.doOnConsumer(BidRequestHandler::lagOf)
+                .subscribe(lag::set, error -> log.debug("Could not read bid request lag: {}", error.getMessage()));
+    }
+
+    private static long lagOf(Consumer<String, BaseEvent> consumer) {
+        Set<TopicPartition> assignment = consumer.assignment();
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(assignment);
+        long total = 0;
+        for (TopicPartition partition : assignment) {
+            total += Math.max(0, endOffsets.getOrDefault(partition, 0L) - consumer.position(partition));
+        }
+        return total;
+    }
+
+    // Offset to acknowledge once the response is sent, and when sending started
+    private record Pending(ReceiverOffset offset, Timer.Sample sample) {
+    }
+}
@@ -1,19 +1,31 @@
 package imbuy.bid.infrastructure.kafka;
 
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.TopicNames;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -44,6 +56,7 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.imbuy.events.BaseEvent");
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
 
@@ -55,5 +68,58 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
-}
 
+    /**
+     * Receiver for {@link BidRequestHandler}. Acknowledged offsets are committed only once every
+     * earlier offset of the partition is acknowledged too; past {@code max-deferred-commits}
+     * waiting acknowledgements the partition is paused.
+     */
+    @Bean
+    public KafkaReceiver<String, BaseEvent> bidRequestReceiver(
+            @Value("${app.bid.requests.commit-interval:PT1S}") Duration commitInterval,
+            @Value("${app.bid.requests.max-deferred-commits:256}") int maxDeferredCommits) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, "bid-service");
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A malformed record comes through as a null value instead of failing the whole pipeline
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.imbuy.events.BaseEvent");
+        ReceiverOptions<String, BaseEvent> options = ReceiverOptions.<String, BaseEvent>create(configProps)
+                .commitInterval(commitInterval)
+                .maxDeferredCommits(maxDeferredCommits)
+                .subscription(List.of(TopicNames.BID_REQUESTS));
+        return KafkaReceiver.create(options);
+    }
+
+    /**
+     * Sender for {@link BidRequestHandler} responses; {@code linger} lets the producer put
+     * responses finished close together into one batch.
+     */
+    @Bean
+    public KafkaSender<String, Object> bidResponseSender(
+            @Value("${app.bid.requests.linger:PT0.005S}") Duration linger,
+            @Value("${app.bid.requests.max-in-flight:256}") int maxInFlight) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis());
+        return KafkaSender.create(SenderOptions.<String, Object>create(configProps).maxInFlight(maxInFlight));
+    }
+
+    /**
+     * Created on startup if missing. Lot rules are only waited for a few seconds, so replies
+     * need not be kept long; the topics of instances that are gone then hold no data.
+     */
+    @Bean
+    public NewTopic instanceReplyTopic(ReplyTopic replyTopic,
+                                       @Value("${app.bid.replies.retention:PT5M}") Duration retention) {
+        return TopicBuilder.name(replyTopic.name())
+                .partitions(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(retention.toMillis()))
+                .build();
+    }
+}
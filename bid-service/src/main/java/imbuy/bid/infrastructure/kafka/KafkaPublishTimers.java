@@ -0,0 +1,38 @@
+package imbuy.bid.infrastructure.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code bid.kafka.publish} timers: from handing a record to the producer until the broker
+ * acknowledged it, by topic and result.
+ */
+@Component
+public class KafkaPublishTimers {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public KafkaPublishTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> CompletableFuture<T> record(String topic, CompletableFuture<T> send) {
+        Timer.Sample sample = Timer.start();
+        return send.whenComplete((result, error) -> sample.stop(timer(topic, error == null)));
+    }
+
+    public Timer timer(String topic, boolean success) {
+        String result = success ? "success" : "failure";
+        return timers.computeIfAbsent(topic + ':' + result, key -> Timer.builder("bid.kafka.publish")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
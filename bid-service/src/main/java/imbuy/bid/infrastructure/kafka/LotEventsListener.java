@@ -0,0 +1,83 @@
+package imbuy.bid.infrastructure.kafka;
+
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.lot.LotCreatedEvent;
+import com.imbuy.events.lot.LotStatusChangedEvent;
+import com.imbuy.events.lot.LotUpdatedEvent;
+import imbuy.bid.application.cache.LotRulesCache;
+import imbuy.bid.application.cache.TopOfBookCache;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.infrastructure.persistence.adapter.BidArchiver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LotEventsListener {
+
+    private static final Set<String> CLOSED_STATUSES = Set.of("COMPLETED", "CANCELLED");
+
+    private final TopOfBookCache topOfBook;
+    private final LotRulesCache lotRules;
+    private final BidArchiver archiver;
+
+    // Every instance keeps its own cache, so each one needs its own consumer group; it is named
+    // after the instance so that a restart rejoins it instead of leaving an orphaned group behind
+    @KafkaListener(
+            topics = TopicNames.LOT_EVENTS,
+            groupId = "bid-service-lots.${app.bid.replies.instance-id:${HOSTNAME:${random.uuid}}}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleLotEvent(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        try {
+            if (event instanceof LotCreatedEvent created && created.getBidStep() != null) {
+                lotRules.put(new LotRules(
+                        created.getLotId(),
+                        Money.toMinor(created.getStartPrice()),
+                        Money.toMinor(created.getBidStep()),
+                        created.getEndDate(),
+                        created.getStatus()));
+            } else if (event instanceof LotUpdatedEvent updated) {
+                lotRules.update(updated.getLotId(), rules -> rules.toBuilder()
+                        .bidStep(updated.getBidStep() != null ? Money.toMinor(updated.getBidStep()) : rules.getBidStep())
+                        .endDate(updated.getEndDate() != null ? updated.getEndDate() : rules.getEndDate())
+                        .build());
+            } else if (event instanceof LotStatusChangedEvent statusChanged) {
+                lotRules.update(statusChanged.getLotId(), rules -> rules.toBuilder()
+                        .status(statusChanged.getNewStatus())
+                        .build());
+                if (CLOSED_STATUSES.contains(statusChanged.getNewStatus())) {
+                    log.debug("Lot {} is {}, dropping cached top of book",
+                            statusChanged.getLotId(), statusChanged.getNewStatus());
+                    topOfBook.evict(statusChanged.getLotId());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error processing lot event: {}", e.getMessage(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    // Shared group: each closed lot has to be queued for archiving once, and not missed while instances are down
+    @KafkaListener(topics = TopicNames.LOT_EVENTS, groupId = "bid-service-archive")
+    public void handleLotClosedForArchive(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        try {
+            if (event instanceof LotStatusChangedEvent statusChanged
+                    && CLOSED_STATUSES.contains(statusChanged.getNewStatus())) {
+                archiver.lotClosed(statusChanged.getLotId(), statusChanged.getNewStatus()).block();
+            }
+        } catch (Exception e) {
+            log.error("Error queueing lot for archiving: {}", e.getMessage(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
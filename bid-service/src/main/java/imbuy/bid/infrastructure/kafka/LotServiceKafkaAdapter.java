@@ -0,0 +1,114 @@
+package imbuy.bid.infrastructure.kafka;
+
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.lot.LotRulesRequestEvent;
+import com.imbuy.events.lot.LotRulesResponseEvent;
+import imbuy.bid.application.port.out.LotRulesPort;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Asks lot-service for a lot's bidding rules over Kafka. Only used when a lot is not in
+ * {@link imbuy.bid.application.cache.LotRulesCache} yet, not once per bid. Responses come back
+ * on this instance's {@link ReplyTopic}.
+ */
+@Slf4j
+@Component
+public class LotServiceKafkaAdapter implements LotRulesPort {
+
+    private static final String LOT_NOT_FOUND = "Lot not found";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaPublishTimers publishTimers;
+    private final ReplyTopic replyTopic;
+    private final Duration requestTimeout;
+    private final Map<String, CompletableFuture<LotRulesResponseEvent>> pendingRequests = new ConcurrentHashMap<>();
+
+    public LotServiceKafkaAdapter(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaPublishTimers publishTimers,
+            ReplyTopic replyTopic,
+            @Value("${app.bid.lot-rules.request-timeout:PT5S}") Duration requestTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.publishTimers = publishTimers;
+        this.replyTopic = replyTopic;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public Mono<LotRules> findRules(Long lotId) {
+        return Mono.defer(() -> {
+            String requestId = UUID.randomUUID().toString();
+            CompletableFuture<LotRulesResponseEvent> future = new CompletableFuture<>();
+            pendingRequests.put(requestId, future);
+
+            LotRulesRequestEvent request = new LotRulesRequestEvent("bid-service", lotId, requestId);
+            log.debug("Requesting rules of lot {}: requestId={}", lotId, requestId);
+            publishTimers.record(TopicNames.LOT_REQUESTS,
+                    kafkaTemplate.send(replyTopic.request(TopicNames.LOT_REQUESTS, request)));
+
+            return Mono.fromFuture(future)
+                    .timeout(requestTimeout)
+                    .doFinally(signal -> pendingRequests.remove(requestId));
+        })
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Lot service is unavailable",
+                        e
+                ))
+                .flatMap(response -> Boolean.TRUE.equals(response.getSuccess())
+                        ? Mono.just(toRules(response))
+                        : Mono.error(failure(response)));
+    }
+
+    // The single partition is assigned directly, so responses flow as soon as the instance is up
+    // instead of after a consumer group rebalance
+    @KafkaListener(
+            id = "bid-service-replies",
+            groupId = "#{@replyTopic.name()}",
+            topicPartitions = @TopicPartition(topic = "#{@replyTopic.name()}", partitions = "0"),
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleLotRulesResponse(LotRulesResponseEvent response, Acknowledgment acknowledgment) {
+        CompletableFuture<LotRulesResponseEvent> future = pendingRequests.remove(response.getRequestId());
+        if (future != null) {
+            future.complete(response);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    private static ResponseStatusException failure(LotRulesResponseEvent response) {
+        if (LOT_NOT_FOUND.equals(response.getErrorMessage())) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, LOT_NOT_FOUND);
+        }
+        log.warn("Lot service failed to return rules of lot {}: {}", response.getLotId(), response.getErrorMessage());
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Lot service is unavailable");
+    }
+
+    private static LotRules toRules(LotRulesResponseEvent response) {
+        return LotRules.builder()
+                .lotId(response.getLotId())
+                .startPrice(Money.toMinor(response.getStartPrice()))
+                .bidStep(Money.toMinor(response.getBidStep()))
+                .endDate(response.getEndDate())
+                .status(response.getStatus())
+                .build();
+    }
+}
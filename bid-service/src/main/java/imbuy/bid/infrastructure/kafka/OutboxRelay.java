@@ -0,0 +1,245 @@
+package imbuy.bid.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.TopicNames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code outbox} table to Kafka. Rows are read in id order and sent keyed by lot,
+ * so events of one lot land on one partition in the order the bids were committed.
+ * Lots are sent concurrently, but each lot's rows one after another: a row is deleted only after
+ * the broker has acknowledged it, and if a send fails, the lot's later rows are not sent at all
+ * and are retried after it on the next run, keeping per-lot order (delivery is at least once).
+ * Rows whose payload cannot be read back as an event are moved to {@code outbox_parked}
+ * instead of holding up their lot forever.
+ * <p>
+ * Only one instance relays at a time, guarded by a PostgreSQL advisory lock.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long RELAY_LOCK_KEY = 0x62696420_6f757462L;
+
+    private static final String SELECT_BATCH_SQL =
+            "SELECT id, lot_id, payload::text AS payload FROM outbox ORDER BY id LIMIT $1";
+    private static final String DELETE_SQL = "DELETE FROM outbox WHERE id = ANY($1)";
+    private static final String PARK_SQL = """
+            WITH parked AS (
+                DELETE FROM outbox WHERE id = ANY($1)
+                RETURNING id, lot_id, event_type, payload, created_at
+            )
+            INSERT INTO outbox_parked (id, lot_id, event_type, payload, created_at)
+            SELECT id, lot_id, event_type, payload, created_at FROM parked
+            """;
+    private static final String BACKLOG_SQL = "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM outbox";
+
+    private final DatabaseClient databaseClient;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final KafkaPublishTimers publishTimers;
+
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter parked;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${app.bid.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.bid.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.bid.outbox.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    public OutboxRelay(DatabaseClient databaseClient,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       KafkaPublishTimers publishTimers,
+                       MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.publishTimers = publishTimers;
+        this.relayed = meterRegistry.counter("bid.outbox.relayed");
+        this.failed = meterRegistry.counter("bid.outbox.failed");
+        this.parked = meterRegistry.counter("bid.outbox.parked");
+        this.batchTimer = meterRegistry.timer("bid.outbox.batch");
+        meterRegistry.gauge("bid.outbox.pending", pending);
+        meterRegistry.gauge("bid.outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.bid.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            databaseClient.inConnection(connection -> Mono.usingWhen(
+                    tryLock(connection),
+                    locked -> locked ? drain(connection).then(updateBacklog(connection)) : Mono.empty(),
+                    locked -> locked ? unlock(connection) : Mono.empty()
+            )).block();
+        } catch (Exception e) {
+            log.error("Outbox relay run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Mono<Void> drain(Connection connection) {
+        return Flux.range(0, maxBatchesPerRun)
+                .concatMap(i -> relayBatch(connection), 1)
+                .takeUntil(more -> !more)
+                .then();
+    }
+
+    /**
+     * Relays one batch. Emits {@code true} if the batch was full and every row was acknowledged
+     * or parked, meaning there may be more to drain right away.
+     */
+    private Mono<Boolean> relayBatch(Connection connection) {
+        return Flux.from(connection.createStatement(SELECT_BATCH_SQL).bind("$1", batchSize).execute())
+                .concatMap(result -> result.map((row, metadata) -> new OutboxRow(
+                        row.get("id", Long.class),
+                        row.get("lot_id", Long.class),
+                        row.get("payload", String.class)
+                )))
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.isEmpty()) {
+                        return Mono.just(false);
+                    }
+                    Timer.Sample sample = Timer.start();
+                    List<Long> unreadable = new ArrayList<>();
+                    Map<Long, List<OutboxEvent>> byLot = decode(rows, unreadable);
+                    return send(byLot)
+                            .doOnNext(acknowledged -> sample.stop(batchTimer))
+                            .flatMap(acknowledged -> delete(connection, acknowledged)
+                                    .then(park(connection, unreadable))
+                                    .thenReturn(rows.size() == batchSize
+                                            && acknowledged.size() + unreadable.size() == rows.size()));
+                });
+    }
+
+    /**
+     * Reads the rows back as events, grouped by lot in id order. Ids of rows that cannot be read
+     * are added to {@code unreadable}.
+     */
+    private Map<Long, List<OutboxEvent>> decode(List<OutboxRow> rows, List<Long> unreadable) {
+        Map<Long, List<OutboxEvent>> byLot = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            try {
+                BaseEvent event = objectMapper.readValue(row.payload(), BaseEvent.class);
+                byLot.computeIfAbsent(row.lotId(), lotId -> new ArrayList<>()).add(new OutboxEvent(row, event));
+            } catch (Exception e) {
+                log.error("Parking unreadable outbox row {} for lot {}: {}", row.id(), row.lotId(), e.getMessage());
+                unreadable.add(row.id());
+            }
+        }
+        return byLot;
+    }
+
+    private Mono<List<Long>> send(Map<Long, List<OutboxEvent>> byLot) {
+        return Flux.fromIterable(byLot.values())
+                .flatMap(this::sendLot)
+                .collectList()
+                .doOnNext(acknowledged -> relayed.increment(acknowledged.size()));
+    }
+
+    /**
+     * Sends one lot's events in order and emits the ids of those acknowledged, stopping at the
+     * first failure so that none of the lot's later events reach the broker ahead of it.
+     */
+    private Flux<Long> sendLot(List<OutboxEvent> events) {
+        return Flux.fromIterable(events)
+                .concatMap(pending -> Mono.fromFuture(() -> sendEvent(pending.event()))
+                        .timeout(sendTimeout)
+                        .doOnError(e -> {
+                            failed.increment();
+                            log.warn("Failed to relay outbox row {} for lot {}: {}",
+                                    pending.row().id(), pending.row().lotId(), e.getMessage());
+                        })
+                        .thenReturn(pending.row().id()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private CompletableFuture<?> sendEvent(BaseEvent event) {
+        return publishTimers.record(TopicNames.BID_EVENTS,
+                kafkaTemplate.send(TopicNames.BID_EVENTS, EventKeys.keyOf(event), event));
+    }
+
+    private Mono<Void> park(Connection connection, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.from(connection.createStatement(PARK_SQL).bind("$1", ids.toArray(Long[]::new)).execute())
+                .concatMap(result -> Flux.from(result.getRowsUpdated()).cast(Number.class))
+                .doOnNext(count -> parked.increment(count.doubleValue()))
+                .then();
+    }
+
+    private Mono<Void> delete(Connection connection, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.from(connection.createStatement(DELETE_SQL).bind("$1", ids.toArray(Long[]::new)).execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+
+    private Mono<Void> updateBacklog(Connection connection) {
+        return Flux.from(connection.createStatement(BACKLOG_SQL).execute())
+                .concatMap(result -> result.map((row, metadata) -> {
+                    pending.set(row.get("pending", Long.class));
+                    LocalDateTime oldest = row.get("oldest", LocalDateTime.class);
+                    lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+                    return oldest != null;
+                }))
+                .then();
+    }
+
+    private Mono<Boolean> tryLock(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT pg_try_advisory_lock($1) AS locked")
+                        .bind("$1", RELAY_LOCK_KEY)
+                        .execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("locked", Boolean.class)))
+                .next()
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> unlock(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT pg_advisory_unlock($1)")
+                        .bind("$1", RELAY_LOCK_KEY)
+                        .execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+
+    private record OutboxRow(Long id, Long lotId, String payload) {
+    }
+
+    private record OutboxEvent(OutboxRow row, BaseEvent event) {
+    }
+}
@@ -0,0 +1,41 @@
+package imbuy.bid.infrastructure.kafka;
+
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.ReplyTopics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The reply topic of this instance. Lot rules requests name it in their {@link ReplyTopics#HEADER}
+ * header, so lot-service answers only the instance waiting for the rules instead of every
+ * bid-service instance.
+ * <p>
+ * The name is derived from {@code app.bid.replies.instance-id}, by default the host name.
+ */
+@Component
+public class ReplyTopic {
+
+    private static final String PREFIX = "bid-service-replies.";
+
+    private final String name;
+
+    public ReplyTopic(@Value("${app.bid.replies.instance-id:${HOSTNAME:${random.uuid}}}") String instanceId) {
+        // Topic names may only contain letters, digits, '.', '_' and '-'
+        this.name = PREFIX + instanceId.replaceAll("[^a-zA-Z0-9._-]", "-");
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * A request record whose response is to be sent to this instance.
+     */
+    public ProducerRecord<String, Object> request(String topic, BaseEvent request) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, EventKeys.keyOf(request), request);
+        record.headers().add(ReplyTopics.HEADER, ReplyTopics.encode(name));
+        return record;
+    }
+}
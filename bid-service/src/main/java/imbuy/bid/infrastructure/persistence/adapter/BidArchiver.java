@@ -0,0 +1,155 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves bids of closed lots from the partitioned {@code bids} table into {@code bids_archive},
+ * so the hot partitions only hold lots that can still be bid on.
+ * <p>
+ * Closed lots are queued in {@code closed_lots} and archived once they have been closed for
+ * {@code app.bid.archive.grace}. Each lot is moved in its own transaction, so its bids are
+ * always entirely in one table or the other. Only one instance archives at a time,
+ * guarded by a PostgreSQL advisory lock.
+ */
+@Slf4j
+@Component
+public class BidArchiver {
+
+    // Arbitrary application-wide key for pg_try_advisory_lock
+    private static final long ARCHIVER_LOCK_KEY = 0x62696420_61726368L;
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO closed_lots (lot_id, status, closed_at) VALUES ($1, $2, $3)
+            ON CONFLICT (lot_id) DO NOTHING
+            """;
+    private static final String SELECT_DUE_SQL = """
+            SELECT lot_id FROM closed_lots
+            WHERE archived_at IS NULL AND closed_at < $1
+            ORDER BY closed_at
+            LIMIT $2
+            """;
+    private static final String MOVE_SQL = """
+            WITH moved AS (
+                DELETE FROM bids WHERE lot_id = $1
+                RETURNING id, lot_id, bidder_id, amount, created_at, auto_placed
+            ), archived AS (
+                INSERT INTO bids_archive (id, lot_id, bidder_id, amount, created_at, auto_placed, archived_at)
+                SELECT id, lot_id, bidder_id, amount, created_at, auto_placed, $2 FROM moved
+                RETURNING 1
+            )
+            SELECT COUNT(*) AS moved FROM archived
+            """;
+    private static final String MARK_ARCHIVED_SQL = "UPDATE closed_lots SET archived_at = $2 WHERE lot_id = $1";
+
+    private final DatabaseClient databaseClient;
+    private final Counter archivedLots;
+    private final Counter archivedBids;
+
+    @Value("${app.bid.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.bid.archive.grace:P1D}")
+    private Duration grace;
+
+    @Value("${app.bid.archive.lots-per-run:100}")
+    private int lotsPerRun;
+
+    public BidArchiver(DatabaseClient databaseClient, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.archivedLots = meterRegistry.counter("bid.archive.lots");
+        this.archivedBids = meterRegistry.counter("bid.archive.bids");
+    }
+
+    /**
+     * Queues a closed lot for archiving; repeated calls for the same lot are ignored.
+     */
+    public Mono<Void> lotClosed(Long lotId, String status) {
+        return databaseClient.inConnection(connection -> Flux.from(connection.createStatement(ENQUEUE_SQL)
+                                .bind("$1", lotId)
+                                .bind("$2", status)
+                                .bind("$3", LocalDateTime.now())
+                                .execute())
+                        .concatMap(result -> result.getRowsUpdated())
+                        .then());
+    }
+
+    @Scheduled(fixedDelayString = "${app.bid.archive.interval-ms:300000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            databaseClient.inConnection(connection -> Mono.usingWhen(
+                    tryLock(connection),
+                    locked -> locked ? archiveDue(connection) : Mono.empty(),
+                    locked -> locked ? unlock(connection) : Mono.empty()
+            )).block();
+        } catch (Exception e) {
+            log.error("Bid archiving run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Mono<Void> archiveDue(Connection connection) {
+        return Flux.from(connection.createStatement(SELECT_DUE_SQL)
+                        .bind("$1", LocalDateTime.now().minus(grace))
+                        .bind("$2", lotsPerRun)
+                        .execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("lot_id", Long.class)))
+                .collectList()
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(lotId -> archiveLot(connection, lotId), 1)
+                .then();
+    }
+
+    private Mono<Void> archiveLot(Connection connection, Long lotId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Mono.usingWhen(
+                Mono.from(connection.beginTransaction()).thenReturn(connection),
+                tx -> Flux.from(tx.createStatement(MOVE_SQL).bind("$1", lotId).bind("$2", now).execute())
+                        .concatMap(result -> result.map((row, metadata) -> row.get("moved", Long.class)))
+                        .next()
+                        .flatMap(moved -> Flux.from(tx.createStatement(MARK_ARCHIVED_SQL)
+                                        .bind("$1", lotId)
+                                        .bind("$2", now)
+                                        .execute())
+                                .concatMap(result -> result.getRowsUpdated())
+                                .then(Mono.just(moved))),
+                Connection::commitTransaction,
+                (tx, error) -> tx.rollbackTransaction(),
+                Connection::rollbackTransaction
+        ).doOnNext(moved -> {
+            archivedLots.increment();
+            archivedBids.increment(moved);
+            log.debug("Archived {} bids of lot {}", moved, lotId);
+        }).then();
+    }
+
+    private Mono<Boolean> tryLock(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT pg_try_advisory_lock($1) AS locked")
+                        .bind("$1", ARCHIVER_LOCK_KEY)
+                        .execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("locked", Boolean.class)))
+                .next()
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> unlock(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT pg_advisory_unlock($1)")
+                        .bind("$1", ARCHIVER_LOCK_KEY)
+                        .execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+}
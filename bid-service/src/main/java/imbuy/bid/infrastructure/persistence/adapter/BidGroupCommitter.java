@@ -0,0 +1,142 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import imbuy.bid.domain.model.Bid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for bid inserts. Bids that arrive while earlier batches are still being written
+ * are collected (up to {@code app.bid.group-commit.max-batch-size} or {@code max-delay}) and
+ * written by {@link BidWriter} in a single transaction, so concurrent bidders share
+ * one commit instead of paying for one each.
+ * Every caller still gets its own bid back with the generated id.
+ */
+@Slf4j
+@Component
+public class BidGroupCommitter {
+
+    private final BidWriter writer;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final int maxInFlight;
+
+    private final Object lock = new Object();
+    private List<Pending> buffer = new ArrayList<>();
+    private long generation;
+    private int inFlight;
+
+    public BidGroupCommitter(
+            BidWriter writer,
+            @Value("${app.bid.group-commit.max-batch-size:64}") int maxBatchSize,
+            @Value("${app.bid.group-commit.max-delay:PT0.002S}") Duration maxDelay,
+            @Value("${app.bid.group-commit.max-in-flight:2}") int maxInFlight) {
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Mono<Bid> save(Bid bid) {
+        return Mono.create(sink -> enqueue(new Pending(bid, sink)));
+    }
+
+    /*
+     * While fewer than max-in-flight batches are being written, a bid goes out immediately,
+     * so a lone bidder does not wait for the window. Under load bids collect behind the
+     * running batches and go out together when one completes, the batch fills up,
+     * or max-delay expires.
+     */
+    private void enqueue(Pending pending) {
+        List<Pending> ready = null;
+        long scheduleFor = -1;
+        synchronized (lock) {
+            buffer.add(pending);
+            if (buffer.size() >= maxBatchSize || inFlight < maxInFlight) {
+                ready = takeBuffer();
+            } else if (buffer.size() == 1) {
+                scheduleFor = generation;
+            }
+        }
+        if (ready != null) {
+            flush(ready);
+        } else if (scheduleFor >= 0) {
+            long expected = scheduleFor;
+            Schedulers.parallel().schedule(() -> flushIfDue(expected), maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushIfDue(long expectedGeneration) {
+        List<Pending> due;
+        synchronized (lock) {
+            // The batch has already gone out
+            if (generation != expectedGeneration || buffer.isEmpty()) {
+                return;
+            }
+            due = takeBuffer();
+        }
+        flush(due);
+    }
+
+    private void onFlushDone() {
+        List<Pending> next = null;
+        synchronized (lock) {
+            inFlight--;
+            if (!buffer.isEmpty()) {
+                next = takeBuffer();
+            }
+        }
+        if (next != null) {
+            flush(next);
+        }
+    }
+
+    private List<Pending> takeBuffer() {
+        List<Pending> taken = buffer;
+        buffer = new ArrayList<>(maxBatchSize);
+        generation++;
+        inFlight++;
+        return taken;
+    }
+
+    private void flush(List<Pending> batch) {
+        writer.insert(batch.stream().map(Pending::bid).toList())
+                .collectList()
+                .doFinally(signal -> onFlushDone())
+                .subscribe(
+                        saved -> complete(batch, saved),
+                        error -> {
+                            log.warn("Group insert of {} bids failed, falling back to single inserts: {}",
+                                    batch.size(), error.getMessage());
+                            batch.forEach(this::insertSingle);
+                        }
+                );
+    }
+
+    // A single bad row must not fail the whole group, so each bid is retried on its own
+    private void insertSingle(Pending pending) {
+        writer.insert(List.of(pending.bid))
+                .next()
+                .subscribe(
+                        pending.sink::success,
+                        pending.sink::error
+                );
+    }
+
+    private void complete(List<Pending> batch, List<Bid> saved) {
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).sink.success(saved.get(i));
+        }
+    }
+
+    private record Pending(Bid bid, MonoSink<Bid> sink) {
+    }
+}
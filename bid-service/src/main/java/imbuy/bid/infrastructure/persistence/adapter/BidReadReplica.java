@@ -0,0 +1,81 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import imbuy.bid.infrastructure.persistence.repository.BidR2dbcRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Optional read replica of the bid database, set with {@code app.bid.replica.url}.
+ * <p>
+ * It has its own small pool and its own {@link BidR2dbcRepository}, so the same queries can
+ * run against either database. It is deliberately not a {@code ConnectionFactory} bean:
+ * transactions, writes and Flyway keep using the primary.
+ */
+@Slf4j
+@Component
+public class BidReadReplica implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final BidR2dbcRepository bids;
+
+    public BidReadReplica(
+            R2dbcConverter converter,
+            @Value("${app.bid.replica.url:}") String url,
+            @Value("${app.bid.replica.username:}") String username,
+            @Value("${app.bid.replica.password:}") String password,
+            @Value("${app.bid.replica.pool-size:8}") int poolSize,
+            @Value("${app.bid.replica.max-acquire-time:PT1S}") Duration maxAcquireTime) {
+        if (url.isBlank()) {
+            this.pool = null;
+            this.bids = null;
+            return;
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isBlank()) {
+            options.option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("bid-replica")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .maxAcquireTime(maxAcquireTime)
+                .validationQuery("SELECT 1")
+                .build());
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(pool)
+                .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+                .build();
+        this.bids = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE, converter))
+                .getRepository(BidR2dbcRepository.class);
+        log.info("Bid history reads go to the read replica, up to {} connections", poolSize);
+    }
+
+    /**
+     * Bid queries against the replica, or empty when none is configured.
+     */
+    public Optional<BidR2dbcRepository> bids() {
+        return Optional.ofNullable(bids);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
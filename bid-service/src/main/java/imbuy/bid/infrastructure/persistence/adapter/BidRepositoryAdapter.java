@@ -1,10 +1,19 @@
 package imbuy.bid.infrastructure.persistence.adapter;
 
 import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.ReadConsistency;
 import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.TopOfBook;
+import imbuy.bid.infrastructure.persistence.entity.BidEntity;
+import imbuy.bid.infrastructure.persistence.entity.LotBidSummaryEntity;
 import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
 import imbuy.bid.infrastructure.persistence.repository.BidR2dbcRepository;
+import imbuy.bid.infrastructure.persistence.repository.LotBidSummaryR2dbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.stereotype.Component;
@@ -12,44 +21,163 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class BidRepositoryAdapter implements BidRepositoryPort {
 
     private final BidR2dbcRepository repository;
+    private final LotBidSummaryR2dbcRepository summaryRepository;
     private final BidPersistenceMapper mapper;
+    private final BidGroupCommitter groupCommitter;
+    private final BidWriter writer;
+    private final BidReadReplica replica;
+    private final MeterRegistry meterRegistry;
+    // bid.repository.query timers by query
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Value("${app.bid.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    // A lot's bids are moved to the archive all at once, so an empty result from the hot
+    // table means the lot is either archived or has nothing at that position
+    @Override
+    public Flux<Bid> findByLotId(Long lotId, Pageable pageable, ReadConsistency consistency) {
+        return timed("find_by_lot", read(consistency, bids -> bids.findByLotIdOrderByCreatedAtDesc(lotId, pageable)
+                .switchIfEmpty(Flux.defer(() -> bids.findArchivedByLotId(
+                        lotId, pageable.getPageSize(), pageable.getOffset())))))
+                .map(mapper::toDomain);
+    }
 
     @Override
-    public Flux<Bid> findByLotId(Long lotId, Pageable pageable) {
-        return repository.findByLotIdOrderByCreatedAtDesc(lotId, pageable)
+    public Flux<Bid> findByLotIdBefore(Long lotId, LocalDateTime createdAt, Long id, int limit,
+                                       ReadConsistency consistency) {
+        return timed("find_by_lot_before", read(consistency, bids -> createdAt == null
+                ? bids.findLatestByLotId(lotId, limit)
+                        .switchIfEmpty(Flux.defer(() -> bids.findLatestArchivedByLotId(lotId, limit)))
+                : bids.findByLotIdBefore(lotId, createdAt, id, limit)
+                        .switchIfEmpty(Flux.defer(() -> bids.findArchivedByLotIdBefore(lotId, createdAt, id, limit)))))
                 .map(mapper::toDomain);
     }
 
+    /**
+     * Runs a read on the replica when it may be stale and a replica is configured. If the
+     * replica fails before returning anything, e.g. it is down, the read is retried on the primary.
+     */
+    private Flux<BidEntity> read(ReadConsistency consistency, Function<BidR2dbcRepository, Flux<BidEntity>> query) {
+        Optional<BidR2dbcRepository> replicaBids = consistency == ReadConsistency.STALE_OK
+                ? replica.bids()
+                : Optional.empty();
+        if (replicaBids.isEmpty()) {
+            return query.apply(repository);
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return query.apply(replicaBids.get())
+                    .doOnNext(bid -> emitted.set(true))
+                    .onErrorResume(error -> !emitted.get(), error -> {
+                        log.warn("Replica read failed, reading from the primary: {}", error.getMessage());
+                        meterRegistry.counter("bid.repository.replica.fallbacks").increment();
+                        return query.apply(repository);
+                    });
+        });
+    }
+
     @Override
     public Mono<Bid> save(Bid bid) {
-        return repository.save(mapper.toEntity(bid))
+        if (bid.getId() == null) {
+            return timed("insert", groupCommitEnabled
+                    ? groupCommitter.save(bid)
+                    : writer.insert(List.of(bid)).single());
+        }
+        return timed("update", repository.save(mapper.toEntity(bid)))
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Flux<Bid> saveAll(List<Bid> bids) {
+        return timed("insert_batch", writer.insert(bids));
+    }
+
+    @Override
+    public Mono<Bid> findByIdempotencyKey(Long bidderId, String idempotencyKey) {
+        return timed("find_by_idempotency_key", repository.findByIdempotencyKey(bidderId, idempotencyKey))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Integer> deleteIdempotencyKeysBefore(LocalDateTime before) {
+        return timed("purge_idempotency_keys", repository.deleteIdempotencyKeysBefore(before));
+    }
+
     @Override
     public Mono<BigDecimal> findMaxBidAmountByLotId(Long lotId) {
-        return repository.findMaxBidAmountByLotId(lotId);
+        return timed("find_summary", summaryRepository.findById(lotId))
+                .map(LotBidSummaryEntity::getMaxAmount);
     }
 
     @Override
     public Mono<Long> countBidsForLot(Long lotId) {
-        return repository.countByLotId(lotId);
+        return timed("find_summary", summaryRepository.findById(lotId))
+                .map(LotBidSummaryEntity::getBidCount)
+                .defaultIfEmpty(0L);
     }
 
     @Override
     public Mono<Bid> findHighestBidByLotId(Long lotId) {
-        return repository.findHighestBidByLotId(lotId)
-                .map(mapper::toDomain);
+        return timed("find_summary", summaryRepository.findById(lotId))
+                .map(mapper::toWinningBid);
+    }
+
+    @Override
+    public Flux<Bid> findHighestBidsByLotIds(Collection<Long> lotIds) {
+        if (lotIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return timed("find_summaries", summaryRepository.findAllById(lotIds))
+                .map(mapper::toWinningBid);
+    }
+
+    @Override
+    public Mono<TopOfBook> findTopOfBook(Long lotId) {
+        return timed("find_summary", summaryRepository.findById(lotId))
+                .map(mapper::toTopOfBook)
+                .defaultIfEmpty(TopOfBook.empty(lotId));
     }
 
     @Override
     public Mono<Void> deleteAll() {
-        return repository.deleteAll();
+        return repository.deleteAll()
+                .then(summaryRepository.deleteAll());
+    }
+
+    private <T> Mono<T> timed(String query, Mono<T> result) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return result.doFinally(signal -> sample.stop(timer(query)));
+        });
+    }
+
+    private <T> Flux<T> timed(String query, Flux<T> results) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return results.doFinally(signal -> sample.stop(timer(query)));
+        });
+    }
+
+    private Timer timer(String query) {
+        return timers.computeIfAbsent(query, key -> Timer.builder("bid.repository.query")
+                .tag("query", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 }
@@ -0,0 +1,220 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imbuy.events.bid.BidPlacedEvent;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.Money;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Inserts bids together with their idempotency keys, {@code lot_bid_summary} updates and
+ * {@code BidPlacedEvent} outbox rows in one transaction, so none of them diverge from {@code bids}.
+ * <p>
+ * The summary row is only raised by a bid that clears its current maximum by the bid's step.
+ * A bid that does not, because another instance got a higher bid in first, fails the whole
+ * transaction with {@link OptimisticLockingFailureException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BidWriter {
+
+    private static final String INSERT_BID_SQL =
+            "INSERT INTO bids (lot_id, bidder_id, amount, created_at, auto_placed) VALUES ($1, $2, $3, $4, $5)";
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO outbox (lot_id, event_type, payload, created_at) VALUES ($1, $2, CAST($3 AS jsonb), $4)";
+    private static final String INSERT_IDEMPOTENCY_KEY_SQL =
+            "INSERT INTO bid_idempotency_keys (bidder_id, idempotency_key, lot_id, bid_id, created_at) VALUES ($1, $2, $3, $4, $5)";
+    private static final String UPSERT_SUMMARY_SQL = """
+            INSERT INTO lot_bid_summary
+                (lot_id, max_amount, winner_bid_id, winner_bidder_id, winner_created_at, bid_count, updated_at)
+            VALUES ($1, $2, $3, $4, $5, 1, $6)
+            ON CONFLICT (lot_id) DO UPDATE SET
+                bid_count = lot_bid_summary.bid_count + 1,
+                updated_at = EXCLUDED.updated_at,
+                max_amount = GREATEST(lot_bid_summary.max_amount, EXCLUDED.max_amount),
+                winner_bid_id = CASE WHEN EXCLUDED.max_amount > lot_bid_summary.max_amount
+                    THEN EXCLUDED.winner_bid_id ELSE lot_bid_summary.winner_bid_id END,
+                winner_bidder_id = CASE WHEN EXCLUDED.max_amount > lot_bid_summary.max_amount
+                    THEN EXCLUDED.winner_bidder_id ELSE lot_bid_summary.winner_bidder_id END,
+                winner_created_at = CASE WHEN EXCLUDED.max_amount > lot_bid_summary.max_amount
+                    THEN EXCLUDED.winner_created_at ELSE lot_bid_summary.winner_created_at END
+            WHERE lot_bid_summary.max_amount + $7 <= EXCLUDED.max_amount
+            """;
+    private static final String EVENT_TYPE = "BID_PLACED";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns the saved bids, with generated ids, in the order they were given.
+     * <p>
+     * The pinned r2dbc-postgresql driver predates TransactionDefinition support in
+     * R2dbcTransactionManager, so the transaction is driven on the connection directly.
+     */
+    public Flux<Bid> insert(List<Bid> bids) {
+        return databaseClient.inConnectionMany(connection -> Flux.usingWhen(
+                Mono.from(connection.beginTransaction()).thenReturn(connection),
+                tx -> insertBids(tx, bids)
+                        .collectList()
+                        .flatMapMany(saved -> insertIdempotencyKeys(tx, saved)
+                                .then(upsertSummary(tx, saved))
+                                .then(insertOutbox(tx, saved))
+                                .thenMany(Flux.fromIterable(saved))),
+                Connection::commitTransaction,
+                (tx, error) -> tx.rollbackTransaction(),
+                Connection::rollbackTransaction
+        ));
+    }
+
+    private Flux<Bid> insertBids(Connection connection, List<Bid> bids) {
+        Statement statement = connection.createStatement(INSERT_BID_SQL);
+        for (int i = 0; i < bids.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            Bid bid = bids.get(i);
+            statement.bind("$1", bid.getLotId())
+                    .bind("$2", bid.getBidderId())
+                    .bind("$3", bid.getAmount())
+                    .bind("$4", bid.getCreatedAt())
+                    .bind("$5", bid.isAutoPlaced());
+        }
+        statement.returnGeneratedValues("id");
+        return Flux.from(statement.execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("id", Long.class)))
+                .collectList()
+                .flatMapMany(ids -> {
+                    if (ids.size() != bids.size()) {
+                        return Flux.error(new IllegalStateException(
+                                "Expected " + bids.size() + " generated ids, got " + ids.size()));
+                    }
+                    List<Bid> saved = new ArrayList<>(bids.size());
+                    for (int i = 0; i < bids.size(); i++) {
+                        saved.add(withId(bids.get(i), ids.get(i)));
+                    }
+                    return Flux.fromIterable(saved);
+                });
+    }
+
+    // A key already taken by another bid fails the whole transaction, so a retried bid is never stored twice
+    private Mono<Void> insertIdempotencyKeys(Connection connection, List<Bid> saved) {
+        List<Bid> keyed = saved.stream()
+                .filter(bid -> bid.getIdempotencyKey() != null)
+                .toList();
+        if (keyed.isEmpty()) {
+            return Mono.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Statement statement = connection.createStatement(INSERT_IDEMPOTENCY_KEY_SQL);
+        for (int i = 0; i < keyed.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            Bid bid = keyed.get(i);
+            statement.bind("$1", bid.getBidderId())
+                    .bind("$2", bid.getIdempotencyKey())
+                    .bind("$3", bid.getLotId())
+                    .bind("$4", bid.getId())
+                    .bind("$5", now);
+        }
+        return Flux.from(statement.execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+
+    private Mono<Void> upsertSummary(Connection connection, List<Bid> saved) {
+        // Lock summary rows in lot order so concurrent batches cannot deadlock
+        List<Bid> ordered = saved.stream()
+                .sorted(Comparator.comparing(Bid::getLotId))
+                .toList();
+        LocalDateTime now = LocalDateTime.now();
+        Statement statement = connection.createStatement(UPSERT_SUMMARY_SQL);
+        for (int i = 0; i < ordered.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            Bid bid = ordered.get(i);
+            statement.bind("$1", bid.getLotId())
+                    .bind("$2", bid.getAmount())
+                    .bind("$3", bid.getId())
+                    .bind("$4", bid.getBidderId())
+                    .bind("$5", bid.getCreatedAt())
+                    .bind("$6", now)
+                    .bind("$7", Money.toDecimal(bid.getBidStep()));
+        }
+        // One result per bid, in order; no row means the stored maximum was already out of reach.
+        // The pinned driver reports the counts as Integer despite the SPI's Long
+        return Flux.from(statement.execute())
+                .concatMap(result -> Flux.from(result.getRowsUpdated()).cast(Number.class))
+                .index()
+                .filter(updated -> updated.getT2().longValue() == 0)
+                .next()
+                .flatMap(rejected -> {
+                    Bid bid = ordered.get(rejected.getT1().intValue());
+                    return Mono.error(new OptimisticLockingFailureException(
+                            "Bid of " + bid.getAmount() + " no longer clears the highest bid on lot " + bid.getLotId()));
+                });
+    }
+
+    private Mono<Void> insertOutbox(Connection connection, List<Bid> saved) {
+        Statement statement = connection.createStatement(INSERT_OUTBOX_SQL);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < saved.size(); i++) {
+            if (i > 0) {
+                statement.add();
+            }
+            Bid bid = saved.get(i);
+            statement.bind("$1", bid.getLotId())
+                    .bind("$2", EVENT_TYPE)
+                    .bind("$3", toPayload(bid))
+                    .bind("$4", now);
+        }
+        return Flux.from(statement.execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+
+    private String toPayload(Bid bid) {
+        BidPlacedEvent event = new BidPlacedEvent(
+                "bid-service",
+                bid.getId(),
+                bid.getLotId(),
+                bid.getBidderId(),
+                bid.getAmount(),
+                bid.isAutoPlaced()
+        );
+        // Live streams fed from the topic show the bid with the time it was placed
+        event.setTimestamp(bid.getCreatedAt());
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize BidPlacedEvent for bid " + bid.getId(), e);
+        }
+    }
+
+    private static Bid withId(Bid bid, Long id) {
+        return Bid.builder()
+                .id(id)
+                .lotId(bid.getLotId())
+                .bidderId(bid.getBidderId())
+                .amount(bid.getAmount())
+                .createdAt(bid.getCreatedAt())
+                .autoPlaced(bid.isAutoPlaced())
+                .idempotencyKey(bid.getIdempotencyKey())
+                .bidStep(bid.getBidStep())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import io.r2dbc.spi.Connection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Recomputes {@code lot_bid_summary} from {@code bids} and {@code bids_archive} when the service
+ * is started with {@code --rebuild-lot-bid-summary}, then shuts the application down.
+ * <p>
+ * Bid inserts and archiving are blocked for the duration, so the rebuilt summary is exact and
+ * lots whose bids were already archived keep their summary.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LotBidSummaryRebuilder implements ApplicationRunner {
+
+    public static final String OPTION = "rebuild-lot-bid-summary";
+
+    private static final String REBUILD_SQL = """
+            WITH all_bids AS (
+                SELECT id, lot_id, bidder_id, amount, created_at FROM bids
+                UNION ALL
+                SELECT id, lot_id, bidder_id, amount, created_at FROM bids_archive
+            )
+            INSERT INTO lot_bid_summary (lot_id, max_amount, winner_bid_id, winner_bidder_id, winner_created_at, bid_count)
+            SELECT top.lot_id, top.amount, top.id, top.bidder_id, top.created_at, counts.bid_count
+            FROM (
+                SELECT DISTINCT ON (lot_id) id, lot_id, bidder_id, amount, created_at
+                FROM all_bids
+                ORDER BY lot_id, amount DESC, created_at ASC
+            ) top
+            JOIN (
+                SELECT lot_id, COUNT(*) AS bid_count
+                FROM all_bids
+                GROUP BY lot_id
+            ) counts ON counts.lot_id = top.lot_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        log.info("Rebuilding lot_bid_summary from bids and bids_archive");
+        long rebuilt = rebuild().block();
+        log.info("lot_bid_summary rebuilt for {} lots", rebuilt);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    public Mono<Long> rebuild() {
+        return databaseClient.inConnection(connection -> Mono.usingWhen(
+                Mono.from(connection.beginTransaction()).thenReturn(connection),
+                tx -> execute(tx, "LOCK TABLE bids, bids_archive IN SHARE MODE")
+                        .then(execute(tx, "LOCK TABLE lot_bid_summary IN EXCLUSIVE MODE"))
+                        .then(execute(tx, "DELETE FROM lot_bid_summary"))
+                        .then(execute(tx, REBUILD_SQL))
+                        .then(countRows(tx)),
+                Connection::commitTransaction,
+                (tx, error) -> tx.rollbackTransaction(),
+                Connection::rollbackTransaction
+        ));
+    }
+
+    private Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .concatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+
+    private Mono<Long> countRows(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT COUNT(*) AS lots FROM lot_bid_summary").execute())
+                .concatMap(result -> result.map((row, metadata) -> row.get("lots", Long.class)))
+                .next();
+    }
+}
@@ -0,0 +1,39 @@
+package imbuy.bid.infrastructure.persistence.adapter;
+
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.domain.model.ProxyBid;
+import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
+import imbuy.bid.infrastructure.persistence.repository.ProxyBidR2dbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class ProxyBidRepositoryAdapter implements ProxyBidRepositoryPort {
+
+    private final ProxyBidR2dbcRepository repository;
+    private final BidPersistenceMapper mapper;
+
+    @Override
+    public Flux<ProxyBid> findByLotId(Long lotId) {
+        return repository.findByLotId(lotId)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<ProxyBid> save(Long lotId, Long bidderId, long maxAmount) {
+        return repository.upsert(lotId, bidderId, Money.toDecimal(maxAmount), LocalDateTime.now())
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Boolean> delete(Long lotId, Long bidderId) {
+        return repository.deleteByLotIdAndBidderId(lotId, bidderId)
+                .map(deleted -> deleted > 0);
+    }
+}
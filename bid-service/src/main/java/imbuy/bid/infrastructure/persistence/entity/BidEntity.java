@@ -30,4 +30,7 @@ public class BidEntity {
 
     @Column("created_at")
     private LocalDateTime createdAt;
+
+    @Column("auto_placed")
+    private boolean autoPlaced;
 }
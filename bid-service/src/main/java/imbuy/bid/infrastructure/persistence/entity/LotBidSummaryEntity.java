@@ -0,0 +1,40 @@
+package imbuy.bid.infrastructure.persistence.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Table("lot_bid_summary")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LotBidSummaryEntity {
+
+    @Id
+    @Column("lot_id")
+    private Long lotId;
+
+    @Column("max_amount")
+    private BigDecimal maxAmount;
+
+    @Column("winner_bid_id")
+    private Long winnerBidId;
+
+    @Column("winner_bidder_id")
+    private Long winnerBidderId;
+
+    @Column("winner_created_at")
+    private LocalDateTime winnerCreatedAt;
+
+    @Column("bid_count")
+    private Long bidCount;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package imbuy.bid.infrastructure.persistence.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Table("proxy_bids")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProxyBidEntity {
+
+    @Id
+    private Long id;
+
+    @Column("lot_id")
+    private Long lotId;
+
+    @Column("bidder_id")
+    private Long bidderId;
+
+    @Column("max_amount")
+    private BigDecimal maxAmount;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,7 +1,12 @@
 package imbuy.bid.infrastructure.persistence.mapper;
 
 import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.domain.model.ProxyBid;
+import imbuy.bid.domain.model.TopOfBook;
 import imbuy.bid.infrastructure.persistence.entity.BidEntity;
+import imbuy.bid.infrastructure.persistence.entity.LotBidSummaryEntity;
+import imbuy.bid.infrastructure.persistence.entity.ProxyBidEntity;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,6 +19,37 @@ public class BidPersistenceMapper {
                 .bidderId(e.getBidderId())
                 .amount(e.getAmount())
                 .createdAt(e.getCreatedAt())
+                .autoPlaced(e.isAutoPlaced())
+                .build();
+    }
+
+    public ProxyBid toDomain(ProxyBidEntity e) {
+        return ProxyBid.builder()
+                .id(e.getId())
+                .lotId(e.getLotId())
+                .bidderId(e.getBidderId())
+                .maxAmount(e.getMaxAmount())
+                .createdAt(e.getCreatedAt())
+                .updatedAt(e.getUpdatedAt())
+                .build();
+    }
+
+    public TopOfBook toTopOfBook(LotBidSummaryEntity summary) {
+        return new TopOfBook(
+                summary.getLotId(),
+                Money.toMinor(summary.getMaxAmount()),
+                summary.getWinnerBidderId(),
+                summary.getBidCount()
+        );
+    }
+
+    public Bid toWinningBid(LotBidSummaryEntity summary) {
+        return Bid.builder()
+                .id(summary.getWinnerBidId())
+                .lotId(summary.getLotId())
+                .bidderId(summary.getWinnerBidderId())
+                .amount(summary.getMaxAmount())
+                .createdAt(summary.getWinnerCreatedAt())
                 .build();
     }
 
@@ -24,6 +60,7 @@ public class BidPersistenceMapper {
                 .bidderId(d.getBidderId())
                 .amount(d.getAmount())
                 .createdAt(d.getCreatedAt())
+                .autoPlaced(d.isAutoPlaced())
                 .build();
     }
 }
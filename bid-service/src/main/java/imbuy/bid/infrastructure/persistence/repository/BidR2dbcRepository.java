@@ -2,14 +2,19 @@ package imbuy.bid.infrastructure.persistence.repository;
 
 import imbuy.bid.infrastructure.persistence.entity.BidEntity;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
+/**
+ * {@code bids} is hash-partitioned by {@code lot_id}: every query here filters on it so that
+ * only the lot's partition is read. Bids of archived lots live in {@code bids_archive}.
+ */
 @Repository
 public interface BidR2dbcRepository
         extends ReactiveCrudRepository<BidEntity, Long> {
@@ -20,14 +25,60 @@ public interface BidR2dbcRepository
         SELECT *
         FROM bids
         WHERE lot_id = :lotId
-        ORDER BY amount DESC, created_at ASC
-        LIMIT 1
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
     """)
-    Mono<BidEntity> findHighestBidByLotId(Long lotId);
+    Flux<BidEntity> findLatestByLotId(Long lotId, int limit);
 
-    @Query("SELECT MAX(amount) FROM bids WHERE lot_id = $1")
-    Mono<BigDecimal> findMaxBidAmountByLotId(Long lotId);
+    @Query("""
+        SELECT *
+        FROM bids
+        WHERE lot_id = :lotId
+          AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<BidEntity> findByLotIdBefore(Long lotId, LocalDateTime createdAt, Long id, int limit);
+
+    @Query("""
+        SELECT *
+        FROM bids_archive
+        WHERE lot_id = :lotId
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit OFFSET :offset
+    """)
+    Flux<BidEntity> findArchivedByLotId(Long lotId, int limit, long offset);
+
+    @Query("""
+        SELECT *
+        FROM bids_archive
+        WHERE lot_id = :lotId
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<BidEntity> findLatestArchivedByLotId(Long lotId, int limit);
+
+    @Query("""
+        SELECT *
+        FROM bids_archive
+        WHERE lot_id = :lotId
+          AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<BidEntity> findArchivedByLotIdBefore(Long lotId, LocalDateTime createdAt, Long id, int limit);
+
+    @Query("""
+        SELECT *
+        FROM bids
+        WHERE lot_id = (SELECT lot_id FROM bid_idempotency_keys
+                        WHERE bidder_id = :bidderId AND idempotency_key = :idempotencyKey)
+          AND id = (SELECT bid_id FROM bid_idempotency_keys
+                    WHERE bidder_id = :bidderId AND idempotency_key = :idempotencyKey)
+    """)
+    Mono<BidEntity> findByIdempotencyKey(Long bidderId, String idempotencyKey);
 
-    @Query("SELECT COUNT(*) FROM bids WHERE lot_id = :lotId")
-    Mono<Long> countByLotId(Long lotId);
+    @Modifying
+    @Query("DELETE FROM bid_idempotency_keys WHERE created_at < :before")
+    Mono<Integer> deleteIdempotencyKeysBefore(LocalDateTime before);
 }
@@ -0,0 +1,10 @@
+package imbuy.bid.infrastructure.persistence.repository;
+
+import imbuy.bid.infrastructure.persistence.entity.LotBidSummaryEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LotBidSummaryR2dbcRepository
+        extends ReactiveCrudRepository<LotBidSummaryEntity, Long> {
+}
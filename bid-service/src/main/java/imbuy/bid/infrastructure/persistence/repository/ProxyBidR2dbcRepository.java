@@ -0,0 +1,36 @@
+package imbuy.bid.infrastructure.persistence.repository;
+
+import imbuy.bid.infrastructure.persistence.entity.ProxyBidEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProxyBidR2dbcRepository
+        extends ReactiveCrudRepository<ProxyBidEntity, Long> {
+
+    Flux<ProxyBidEntity> findByLotId(Long lotId);
+
+    /**
+     * A bidder has one maximum per lot; registering again replaces it.
+     */
+    @Query("""
+        INSERT INTO proxy_bids (lot_id, bidder_id, max_amount, created_at, updated_at)
+        VALUES (:lotId, :bidderId, :maxAmount, :now, :now)
+        ON CONFLICT (lot_id, bidder_id) DO UPDATE
+        SET max_amount = EXCLUDED.max_amount,
+            updated_at = EXCLUDED.updated_at
+        RETURNING *
+    """)
+    Mono<ProxyBidEntity> upsert(Long lotId, Long bidderId, BigDecimal maxAmount, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM proxy_bids WHERE lot_id = :lotId AND bidder_id = :bidderId")
+    Mono<Integer> deleteByLotIdAndBidderId(Long lotId, Long bidderId);
+}
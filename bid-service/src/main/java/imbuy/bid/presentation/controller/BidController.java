@@ -1,22 +1,31 @@
 package imbuy.bid.presentation.controller;
 
 import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.dto.BidPageDto;
 import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.dto.CreateProxyBidDto;
+import imbuy.bid.application.dto.ProxyBidDto;
 import imbuy.bid.application.port.in.BidUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/bids")
@@ -24,8 +33,14 @@ import java.time.Duration;
 @Tag(name = "Bids", description = "Bid management APIs")
 public class BidController {
 
+    private static final int MAX_WINNER_LOTS = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
     private final BidUseCase bidService;
 
+    @Value("${app.bid.stream.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
     @GetMapping("/lots/{lotId}")
     @Operation(summary = "Get bid history for a lot")
     public Flux<BidDto> getBidsByLotId(
@@ -37,21 +52,76 @@ public class BidController {
         return bidService.getBidsByLotId(lotId, pageable);
     }
 
+    @GetMapping("/lots/{lotId}/history")
+    @Operation(summary = "Get bid history for a lot using a continuation cursor")
+    public Mono<BidPageDto> getBidHistory(
+            @PathVariable Long lotId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return bidService.getBidsByLotId(lotId, cursor, Math.max(1, Math.min(size, 50)));
+    }
+
+    @GetMapping(value = "/lots/{lotId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream recent and newly accepted bids for a lot as Server-Sent Events")
+    public Flux<ServerSentEvent<BidDto>> streamBids(@PathVariable Long lotId) {
+        Flux<ServerSentEvent<BidDto>> bids = bidService.streamBids(lotId)
+                .map(bid -> ServerSentEvent.<BidDto>builder()
+                        .id(String.valueOf(bid.id()))
+                        .event("bid")
+                        .data(bid)
+                        .build());
+
+        // Comments keep idle connections open through proxies
+        Flux<ServerSentEvent<BidDto>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<BidDto>builder().comment("keep-alive").build());
+
+        return Flux.merge(bids, heartbeats);
+    }
+
     @PostMapping("/lots/{lotId}")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Place a bid on a lot", security = @SecurityRequirement(name = "bearerAuth"))
     public Mono<BidDto> placeBid(
             @PathVariable Long lotId,
             @Valid @RequestBody CreateBidDto createBidDto,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
 
         Long userId = getUserIdFromAuthentication(authentication);
-        return bidService.placeBid(lotId, createBidDto, userId);
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"
+            );
+        }
+        return bidService.placeBid(lotId, createBidDto, userId, idempotencyKey);
+    }
+
+    @PutMapping("/lots/{lotId}/proxy")
+    @Operation(summary = "Register or change a maximum bid; bids are placed automatically up to it",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public Mono<ProxyBidDto> placeProxyBid(
+            @PathVariable Long lotId,
+            @Valid @RequestBody CreateProxyBidDto createProxyBidDto,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        return bidService.placeProxyBid(lotId, createProxyBidDto, userId);
+    }
+
+    @DeleteMapping("/lots/{lotId}/proxy")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Cancel the maximum bid; bids already placed stay",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public Mono<Void> cancelProxyBid(@PathVariable Long lotId, Authentication authentication) {
+        Long userId = getUserIdFromAuthentication(authentication);
+        return bidService.cancelProxyBid(lotId, userId);
     }
 
     private Long getUserIdFromAuthentication(Authentication authentication) {
         if (authentication == null || authentication.getDetails() == null) {
-            throw new org.springframework.web.server.ResponseStatusException(
+            throw new ResponseStatusException(
                     HttpStatus.UNAUTHORIZED,
                     "JWT token is required. Please provide Authorization header with Bearer token"
             );
@@ -61,14 +131,21 @@ public class BidController {
 
     @GetMapping("/lots/{lotId}/winning")
     @Operation(summary = "Get winning bid for a lot")
-    public Long getAuctionWinner(@PathVariable Long lotId) {
-        try {
-            return bidService.getAuctionWinnerId(lotId)
-                    .doOnSubscribe(s -> System.out.println("MONO SUBSCRIBED"))
-                    .doOnNext(r -> System.out.println("MONO RESULT: " + r))
-                    .block(Duration.ofSeconds(5));
-        } catch (Exception e) {
-            return null;
+    public Mono<Long> getAuctionWinner(@PathVariable Long lotId) {
+        return bidService.getAuctionWinnerId(lotId)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    @GetMapping("/winners")
+    @Operation(summary = "Get winners for several lots; lots without bids are omitted")
+    public Mono<Map<Long, Long>> getAuctionWinners(@RequestParam List<Long> lotIds) {
+        if (lotIds.size() > MAX_WINNER_LOTS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_WINNER_LOTS + " lots per request"
+            );
         }
+        return bidService.getAuctionWinnerIds(lotIds);
     }
-}
\ No newline at end of file
+}
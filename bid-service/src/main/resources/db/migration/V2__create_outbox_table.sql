@@ -0,0 +1,8 @@
+-- Создание таблицы outbox для событий, отправляемых в Kafka
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    lot_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
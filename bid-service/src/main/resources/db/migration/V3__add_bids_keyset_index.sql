@@ -0,0 +1,5 @@
+-- Индекс для keyset-пагинации истории ставок по лоту
+CREATE INDEX idx_bids_lot_created_id ON bids (lot_id, created_at DESC, id DESC);
+
+-- idx_bids_lot_id покрывается новым составным индексом
+DROP INDEX IF EXISTS idx_bids_lot_id;
@@ -0,0 +1,24 @@
+-- Создание таблицы lot_bid_summary: текущий лидер и число ставок по лоту
+CREATE TABLE lot_bid_summary (
+    lot_id BIGINT PRIMARY KEY,
+    max_amount DECIMAL(19, 2) NOT NULL,
+    winner_bid_id BIGINT NOT NULL,
+    winner_bidder_id BIGINT NOT NULL,
+    winner_created_at TIMESTAMP NOT NULL,
+    bid_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Заполнение по уже существующим ставкам
+INSERT INTO lot_bid_summary (lot_id, max_amount, winner_bid_id, winner_bidder_id, winner_created_at, bid_count)
+SELECT top.lot_id, top.amount, top.id, top.bidder_id, top.created_at, counts.bid_count
+FROM (
+    SELECT DISTINCT ON (lot_id) id, lot_id, bidder_id, amount, created_at
+    FROM bids
+    ORDER BY lot_id, amount DESC, created_at ASC
+) top
+JOIN (
+    SELECT lot_id, COUNT(*) AS bid_count
+    FROM bids
+    GROUP BY lot_id
+) counts ON counts.lot_id = top.lot_id;
@@ -0,0 +1,13 @@
+-- Создание таблицы proxy_bids: скрытый максимум участника по лоту
+CREATE TABLE proxy_bids (
+    id BIGSERIAL PRIMARY KEY,
+    lot_id BIGINT NOT NULL,
+    bidder_id BIGINT NOT NULL,
+    max_amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_proxy_bids_lot_bidder UNIQUE (lot_id, bidder_id)
+);
+
+-- Ставки, сделанные системой от имени участника
+ALTER TABLE bids ADD COLUMN auto_placed BOOLEAN NOT NULL DEFAULT FALSE;
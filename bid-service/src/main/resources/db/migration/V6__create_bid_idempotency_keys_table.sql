@@ -0,0 +1,11 @@
+-- Создание таблицы bid_idempotency_keys: ключ повторной отправки ставки и созданная по нему ставка
+CREATE TABLE bid_idempotency_keys (
+    bidder_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(128) NOT NULL,
+    bid_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (bidder_id, idempotency_key)
+);
+
+-- Индекс для удаления устаревших ключей
+CREATE INDEX idx_bid_idempotency_keys_created_at ON bid_idempotency_keys(created_at);
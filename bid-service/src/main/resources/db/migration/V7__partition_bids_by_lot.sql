@@ -0,0 +1,46 @@
+-- Секционирование bids по хэшу lot_id: все запросы по лоту читают одну секцию
+ALTER TABLE bids RENAME TO bids_legacy;
+ALTER SEQUENCE bids_id_seq OWNED BY NONE;
+
+CREATE TABLE bids (
+    id BIGINT NOT NULL DEFAULT nextval('bids_id_seq'),
+    lot_id BIGINT NOT NULL,
+    bidder_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    auto_placed BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, lot_id)
+) PARTITION BY HASH (lot_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE bids_p%s PARTITION OF bids FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+ALTER SEQUENCE bids_id_seq OWNED BY bids.id;
+
+-- Перенос существующих ставок
+INSERT INTO bids (id, lot_id, bidder_id, amount, created_at, auto_placed)
+SELECT id, lot_id, bidder_id, amount, created_at, auto_placed
+FROM bids_legacy;
+
+DROP TABLE bids_legacy;
+
+-- Индексы создаются на каждой секции
+CREATE INDEX idx_bids_lot_created_id ON bids (lot_id, created_at DESC, id DESC);
+CREATE INDEX idx_bids_bidder_id ON bids (bidder_id);
+
+-- lot_id в ключах идемпотентности, чтобы поиск ставки по ключу попадал в одну секцию
+ALTER TABLE bid_idempotency_keys ADD COLUMN lot_id BIGINT;
+
+UPDATE bid_idempotency_keys k
+SET lot_id = b.lot_id
+FROM bids b
+WHERE b.id = k.bid_id;
+
+DELETE FROM bid_idempotency_keys WHERE lot_id IS NULL;
+
+ALTER TABLE bid_idempotency_keys ALTER COLUMN lot_id SET NOT NULL;
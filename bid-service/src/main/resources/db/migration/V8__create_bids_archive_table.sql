@@ -0,0 +1,24 @@
+-- Архив ставок завершённых лотов: без секций и лишних индексов, страницы заполнены полностью
+CREATE TABLE bids_archive (
+    id BIGINT NOT NULL,
+    lot_id BIGINT NOT NULL,
+    bidder_id BIGINT NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    auto_placed BOOLEAN NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 100);
+
+-- Индекс для чтения истории архивного лота
+CREATE INDEX idx_bids_archive_lot_created_id ON bids_archive (lot_id, created_at DESC, id DESC) WITH (fillfactor = 100);
+
+-- Завершённые лоты, ставки которых ждут переноса в архив
+CREATE TABLE closed_lots (
+    lot_id BIGINT PRIMARY KEY,
+    status VARCHAR(32) NOT NULL,
+    closed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    archived_at TIMESTAMP
+);
+
+-- Индекс для выборки лотов, ещё не перенесённых в архив
+CREATE INDEX idx_closed_lots_pending ON closed_lots (closed_at) WHERE archived_at IS NULL;
@@ -0,0 +1,10 @@
+-- Строки outbox, которые не удалось прочитать как событие: ждут ручного разбора,
+-- а не блокируют отправку остальных событий лота
+CREATE TABLE outbox_parked (
+    id BIGINT PRIMARY KEY,
+    lot_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    parked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,54 @@
+package imbuy.bid;
+
+import imbuy.bid.application.dto.BidCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BidCursorTest {
+
+    @Test
+    void decode_shouldReturnEncodedPosition() {
+        BidCursor cursor = new BidCursor(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000), 4_000_000_001L);
+
+        assertThat(BidCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        // Whole seconds print without a fraction, which changes the token length
+        for (LocalDateTime createdAt : new LocalDateTime[] {
+                LocalDateTime.of(2024, 3, 1, 10, 15),
+                LocalDateTime.of(2024, 3, 1, 10, 15, 30, 1)}) {
+            String token = new BidCursor(createdAt, 7L).encode();
+
+            assertThat(token).matches("[A-Za-z0-9_-]+");
+            assertThat(BidCursor.decode(token)).isEqualTo(new BidCursor(createdAt, 7L));
+        }
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokensWith400() {
+        for (String token : new String[] {
+                "not base64!",
+                encode("2024-03-01T10:15:30"),
+                encode("2024-03-01T10:15:30|abc"),
+                encode("yesterday|7")}) {
+            assertThatThrownBy(() -> BidCursor.decode(token))
+                    .as(token)
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package imbuy.bid;
+
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.infrastructure.persistence.adapter.BidGroupCommitter;
+import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
+import imbuy.bid.infrastructure.persistence.repository.BidR2dbcRepository;
+import imbuy.bid.infrastructure.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of single inserts vs group commit at 1, 8 and 64 concurrent bidders.
+ * Each bidder places its bids one after another, like a client waiting for the response.
+ */
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.main.allow-bean-definition-overriding=true",
+        "spring.kafka.bootstrap-servers=dummy:1234",
+        "spring.r2dbc.pool.max-size=16"
+})
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+class BidGroupCommitBenchmarkTest {
+
+    private static final int BIDS_PER_RUN = 4_096;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid_bench")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () ->
+                "r2dbc:postgresql://" + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("app.security.jwt.secret", () -> "test_jwt_secret_for_tests");
+    }
+
+    @Autowired
+    private BidR2dbcRepository repository;
+
+    @Autowired
+    private BidPersistenceMapper mapper;
+
+    @Autowired
+    private BidGroupCommitter groupCommitter;
+
+    @MockBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll().block();
+        // Warm up connections and statement caches for both paths
+        run(8, bid -> repository.save(mapper.toEntity(bid)).map(mapper::toDomain));
+        run(8, groupCommitter::save);
+        repository.deleteAll().block();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64})
+    void insertThroughput(int bidders) {
+        double single = run(bidders, bid -> repository.save(mapper.toEntity(bid)).map(mapper::toDomain));
+        double grouped = run(bidders, groupCommitter::save);
+
+        System.out.printf("bidders=%d single=%.0f bids/s group-commit=%.0f bids/s (x%.2f)%n",
+                bidders, single, grouped, grouped / single);
+
+        assertThat(repository.count().block()).isEqualTo(2L * BIDS_PER_RUN);
+    }
+
+    private double run(int bidders, Function<Bid, Mono<Bid>> save) {
+        int perBidder = BIDS_PER_RUN / bidders;
+        long started = System.nanoTime();
+
+        List<Bid> saved = Flux.range(0, bidders)
+                .flatMap(bidder -> Flux.range(0, perBidder)
+                                .concatMap(i -> save.apply(bid(bidder, i))),
+                        bidders)
+                .collectList()
+                .block();
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        assertThat(saved).hasSize(perBidder * bidders);
+        assertThat(new HashSet<>(saved.stream().map(Bid::getId).toList())).hasSize(saved.size());
+        return saved.size() / seconds;
+    }
+
+    private static Bid bid(int bidder, int sequence) {
+        return Bid.builder()
+                .lotId((long) (bidder % 16) + 1)
+                .bidderId((long) bidder + 1)
+                .amount(new BigDecimal(100 + sequence * 10L))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
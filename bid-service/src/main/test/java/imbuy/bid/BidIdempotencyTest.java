@@ -0,0 +1,208 @@
+package imbuy.bid;
+
+import imbuy.bid.application.cache.IdempotencyCache;
+import imbuy.bid.application.cache.LotRulesCache;
+import imbuy.bid.application.cache.TopOfBookCache;
+import imbuy.bid.application.dto.BidDto;
+import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.mapper.BidMapperImpl;
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.LotRulesPort;
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.application.proxy.ProxyBidEngine;
+import imbuy.bid.application.ratelimit.BidRateLimiter;
+import imbuy.bid.application.sequencer.BidSequencer;
+import imbuy.bid.application.service.BidService;
+import imbuy.bid.application.stream.BidStreamHub;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.LotRules;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bids submitted again with the same Idempotency-Key, against a repository that stores nothing.
+ */
+class BidIdempotencyTest {
+
+    private static final long LOT_ID = 1L;
+    private static final long BIDDER_ID = 7L;
+    private static final String KEY = "retry-1";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BidRepositoryPort repository = mock(BidRepositoryPort.class);
+    private final LotRulesPort lotRulesPort = mock(LotRulesPort.class);
+    private final ProxyBidRepositoryPort proxyBids = mock(ProxyBidRepositoryPort.class);
+    private final AtomicLong ids = new AtomicLong(100);
+    private BidSequencer sequencer;
+    private BidService bidService;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findTopOfBook(anyLong())).thenReturn(Mono.empty());
+        when(repository.findByIdempotencyKey(any(), any())).thenReturn(Mono.empty());
+        // Slow enough for a retry to arrive while the original is still being saved
+        when(repository.save(any())).thenAnswer(invocation -> Mono.delay(Duration.ofMillis(20))
+                .map(tick -> withId(invocation.getArgument(0), ids.incrementAndGet())));
+
+        when(lotRulesPort.findRules(anyLong())).thenAnswer(invocation -> Mono.just(new LotRules(
+                invocation.getArgument(0), 10000, 1000, LocalDateTime.now().plusDays(1), LotRules.ACTIVE)));
+        when(proxyBids.findByLotId(anyLong())).thenReturn(Flux.empty());
+
+        sequencer = new BidSequencer(2, 256, TIMEOUT, meterRegistry);
+        bidService = bidService(new BidRateLimiter(false, 1, 1, 1, 1, meterRegistry));
+    }
+
+    private BidService bidService(BidRateLimiter rateLimiter) {
+        return new BidService(
+                repository,
+                new BidMapperImpl(),
+                new TopOfBookCache(repository, meterRegistry),
+                new LotRulesCache(lotRulesPort, 100, Duration.ofMinutes(30), meterRegistry),
+                sequencer,
+                new BidStreamHub(repository, meterRegistry),
+                new ProxyBidEngine(proxyBids, meterRegistry),
+                new IdempotencyCache(repository, 100, Duration.ofMinutes(10), meterRegistry),
+                rateLimiter,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    void retry_shouldReturnOriginalBid_withoutSavingAgain() {
+        BidDto original = place("100.00", KEY).block(TIMEOUT);
+        BidDto retried = place("100.00", KEY).block(TIMEOUT);
+
+        assertThat(retried).isEqualTo(original);
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void concurrentRetries_shouldPlaceOneBid() {
+        List<BidDto> results = Flux.range(0, 10)
+                .flatMap(i -> place("100.00", KEY))
+                .collectList()
+                .block(TIMEOUT);
+
+        assertThat(results).hasSize(10);
+        assertThat(results).extracting(BidDto::id).containsOnly(results.get(0).id());
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void sameKeyForDifferentBid_shouldBeRejectedWith422() {
+        place("100.00", KEY).block(TIMEOUT);
+
+        assertThatThrownBy(() -> place("120.00", KEY).block(TIMEOUT))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void keyStoredByAnotherInstance_shouldBeReplayedFromRepository() {
+        Bid stored = withId(bid("100.00"), 42L);
+        when(repository.findByIdempotencyKey(BIDDER_ID, KEY)).thenReturn(Mono.just(stored));
+
+        BidDto replayed = place("100.00", KEY).block(TIMEOUT);
+
+        assertThat(replayed.id()).isEqualTo(42L);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void retryOfStoredBid_shouldBeReplayed_afterLotHasClosed() {
+        Bid stored = withId(bid("100.00"), 42L);
+        when(repository.findByIdempotencyKey(BIDDER_ID, KEY)).thenReturn(Mono.just(stored));
+        when(lotRulesPort.findRules(LOT_ID)).thenReturn(Mono.just(new LotRules(
+                LOT_ID, 10000, 1000, LocalDateTime.now().minusMinutes(1), "COMPLETED")));
+
+        BidDto replayed = place("100.00", KEY).block(TIMEOUT);
+
+        assertThat(replayed.id()).isEqualTo(42L);
+        verify(lotRulesPort, never()).findRules(anyLong());
+    }
+
+    @Test
+    void retryOfStoredBid_shouldNotBeThrottled() {
+        // One bid per bidder, then none for minutes
+        bidService = bidService(new BidRateLimiter(true, 0.01, 1, 1000, 1000, meterRegistry));
+        BidDto original = place("100.00", KEY).block(TIMEOUT);
+
+        BidDto retried = place("100.00", KEY).block(TIMEOUT);
+
+        assertThat(retried).isEqualTo(original);
+    }
+
+    @Test
+    void keyTakenWhileSaving_shouldReplayTheStoredBid() {
+        Bid stored = withId(bid("100.00"), 42L);
+        // The other instance's bid becomes visible only after our insert hit the unique key
+        when(repository.findByIdempotencyKey(BIDDER_ID, KEY))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just(stored));
+        when(repository.save(any())).thenReturn(Mono.error(new DataIntegrityViolationException("duplicate key")));
+
+        BidDto replayed = place("100.00", KEY).block(TIMEOUT);
+
+        assertThat(replayed.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void bidsWithoutKey_shouldEachBePlaced() {
+        place("100.00", null).block(TIMEOUT);
+        place("110.00", null).block(TIMEOUT);
+
+        verify(repository, times(2)).save(any());
+    }
+
+    private Mono<BidDto> place(String amount, String idempotencyKey) {
+        return bidService.placeBid(LOT_ID, new CreateBidDto(new BigDecimal(amount)), BIDDER_ID, idempotencyKey);
+    }
+
+    private static Bid bid(String amount) {
+        return Bid.builder()
+                .lotId(LOT_ID)
+                .bidderId(BIDDER_ID)
+                .amount(new BigDecimal(amount))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Bid withId(Bid bid, long id) {
+        return Bid.builder()
+                .id(id)
+                .lotId(bid.getLotId())
+                .bidderId(bid.getBidderId())
+                .amountMinor(bid.getAmountMinor())
+                .createdAt(bid.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package imbuy.bid;
+
+import imbuy.bid.application.cache.IdempotencyCache;
+import imbuy.bid.application.cache.LotRulesCache;
+import imbuy.bid.application.cache.TopOfBookCache;
+import imbuy.bid.application.dto.CreateBidDto;
+import imbuy.bid.application.mapper.BidMapperImpl;
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.LotRulesPort;
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.application.proxy.ProxyBidEngine;
+import imbuy.bid.application.ratelimit.BidRateLimiter;
+import imbuy.bid.application.sequencer.BidSequencer;
+import imbuy.bid.application.service.BidService;
+import imbuy.bid.application.service.BidTooLowException;
+import imbuy.bid.application.stream.BidStreamHub;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.TopOfBook;
+import imbuy.bid.infrastructure.kafka.KafkaPublishTimers;
+import imbuy.bid.infrastructure.persistence.adapter.BidRepositoryAdapter;
+import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
+import imbuy.bid.infrastructure.persistence.repository.BidR2dbcRepository;
+import imbuy.bid.infrastructure.persistence.repository.LotBidSummaryR2dbcRepository;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Names of the meters bid-service dashboards rely on, as they appear on /actuator/prometheus.
+ */
+class BidMetricsTest {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final BidSequencer sequencer = new BidSequencer(0, 256, Duration.ofSeconds(10), registry);
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    void placeBid_shouldBeTimedByOutcomeWithHistogram() {
+        BidService bidService = bidService();
+
+        bidService.placeBid(1L, new CreateBidDto(new BigDecimal("100.00")), 2L).block();
+        assertThatThrownBy(() -> bidService.placeBid(1L, new CreateBidDto(new BigDecimal("100.00")), 3L).block())
+                .isInstanceOf(BidTooLowException.class);
+
+        String scrape = registry.scrape();
+        assertThat(scrape)
+                .contains("bid_place_seconds_bucket{")
+                .contains("bid_place_seconds_count{outcome=\"accepted\",type=\"bid\",} 1.0")
+                .contains("bid_place_seconds_count{outcome=\"too_low\",type=\"bid\",} 1.0")
+                .contains("bid_place_seconds_count{outcome=\"error\",type=\"proxy\",} 0.0");
+    }
+
+    @Test
+    void repositoryQueries_shouldBeTimedByQuery() {
+        LotBidSummaryR2dbcRepository summaries = mock(LotBidSummaryR2dbcRepository.class);
+        when(summaries.findById(anyLong())).thenReturn(Mono.empty());
+        BidRepositoryAdapter adapter = new BidRepositoryAdapter(
+                mock(BidR2dbcRepository.class), summaries, new BidPersistenceMapper(), null, null, null, registry);
+
+        adapter.findTopOfBook(1L).block();
+
+        assertThat(registry.scrape())
+                .contains("bid_repository_query_seconds_bucket{query=\"find_summary\",")
+                .contains("bid_repository_query_seconds_count{query=\"find_summary\",} 1.0");
+    }
+
+    @Test
+    void kafkaPublish_shouldBeTimedByTopicAndResult() {
+        KafkaPublishTimers timers = new KafkaPublishTimers(registry);
+
+        timers.record("bid-events", CompletableFuture.completedFuture(null)).join();
+
+        assertThat(registry.scrape())
+                .contains("bid_kafka_publish_seconds_bucket{result=\"success\",topic=\"bid-events\",")
+                .contains("bid_kafka_publish_seconds_count{result=\"success\",topic=\"bid-events\",} 1.0");
+    }
+
+    private BidService bidService() {
+        BidRepositoryPort repository = mock(BidRepositoryPort.class);
+        when(repository.findTopOfBook(anyLong())).thenAnswer(invocation -> Mono.just(TopOfBook.empty(invocation.getArgument(0))));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            Bid bid = invocation.getArgument(0);
+            bid.setId(1L);
+            return Mono.just(bid);
+        });
+        ProxyBidRepositoryPort proxyRepository = mock(ProxyBidRepositoryPort.class);
+        when(proxyRepository.findByLotId(anyLong())).thenReturn(Flux.empty());
+        LotRulesPort lotService = mock(LotRulesPort.class);
+        when(lotService.findRules(anyLong())).thenAnswer(invocation -> Mono.just(new LotRules(
+                invocation.getArgument(0), 10000, 1000, LocalDateTime.now().plusDays(1), LotRules.ACTIVE)));
+
+        return new BidService(
+                repository,
+                new BidMapperImpl(),
+                new TopOfBookCache(repository, registry),
+                new LotRulesCache(lotService, 1000, Duration.ofMinutes(30), registry),
+                sequencer,
+                new BidStreamHub(repository, registry),
+                new ProxyBidEngine(proxyRepository, registry),
+                new IdempotencyCache(repository, 1000, Duration.ofMinutes(10), registry),
+                new BidRateLimiter(false, 5, 10, 200, 400, registry),
+                registry
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package imbuy.bid;
+
+import imbuy.bid.application.ratelimit.BidRateLimiter;
+import imbuy.bid.application.ratelimit.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Limits slow enough that no permit refills while a test runs.
+ */
+class BidRateLimiterTest {
+
+    private static final double SLOW = 0.01;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void bidder_shouldBeLimitedAfterBurst_withRetryAfter() {
+        BidRateLimiter limiter = new BidRateLimiter(true, SLOW, 3, 1000, 1000, meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L, 1L);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(1L, 2L))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(Long.parseLong(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isPositive();
+                });
+        // Other bidders have their own bucket
+        assertThatCode(() -> limiter.acquire(2L, 1L)).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter("bid.rate_limit.rejected", "scope", "bidder").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void lot_shouldBeLimitedAcrossBidders() {
+        BidRateLimiter limiter = new BidRateLimiter(true, 1000, 1000, SLOW, 2, meterRegistry);
+        limiter.acquire(1L, 1L);
+        limiter.acquire(2L, 1L);
+
+        assertThatThrownBy(() -> limiter.acquire(3L, 1L)).isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> limiter.acquire(3L, 2L)).doesNotThrowAnyException();
+        assertThat(meterRegistry.counter("bid.rate_limit.rejected", "scope", "lot").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void lotRejection_shouldNotUseUpBidderPermit() {
+        BidRateLimiter limiter = new BidRateLimiter(true, SLOW, 2, SLOW, 1, meterRegistry);
+        limiter.acquire(1L, 1L);
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> limiter.acquire(2L, 1L)).isInstanceOf(RateLimitExceededException.class);
+        }
+
+        // Bidder 2 has not placed a bid yet, so their whole burst is left
+        limiter.acquire(2L, 2L);
+        limiter.acquire(2L, 3L);
+        assertThatThrownBy(() -> limiter.acquire(2L, 4L)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void disabled_shouldNeverLimit() {
+        BidRateLimiter limiter = new BidRateLimiter(false, SLOW, 1, SLOW, 1, meterRegistry);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                limiter.acquire(1L, 1L);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void evictIdle_shouldKeepBucketsThatAreNotFull() {
+        BidRateLimiter limiter = new BidRateLimiter(true, SLOW, 2, SLOW, 2, meterRegistry);
+        limiter.acquire(1L, 1L);
+
+        limiter.evictIdle();
+
+        assertThat(meterRegistry.get("bid.rate_limit.keys").tag("scope", "bidder").gauge().value()).isEqualTo(1.0);
+        limiter.acquire(1L, 1L);
+        assertThatThrownBy(() -> limiter.acquire(1L, 1L)).isInstanceOf(RateLimitExceededException.class);
+    }
+}
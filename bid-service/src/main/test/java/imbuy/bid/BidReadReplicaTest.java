@@ -0,0 +1,162 @@
+package imbuy.bid;
+
+import imbuy.bid.application.port.out.ReadConsistency;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.infrastructure.persistence.adapter.BidReadReplica;
+import imbuy.bid.infrastructure.persistence.adapter.BidRepositoryAdapter;
+import imbuy.bid.infrastructure.persistence.entity.BidEntity;
+import imbuy.bid.infrastructure.persistence.mapper.BidPersistenceMapper;
+import imbuy.bid.infrastructure.persistence.repository.BidR2dbcRepository;
+import imbuy.bid.infrastructure.persistence.repository.LotBidSummaryR2dbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read routing between the primary and a replica. One PostgreSQL instance plays both, as two
+ * databases with separate pools; they hold different bids, so each result shows where it was read.
+ */
+@Testcontainers
+class BidReadReplicaTest {
+
+    private static final String REPLICA_DB = "bid_replica";
+    private static final long LOT_ID = 1L;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid_primary")
+            .withUsername("test")
+            .withPassword("test");
+
+    private final R2dbcConverter converter = new MappingR2dbcConverter(
+            new R2dbcMappingContext(), R2dbcCustomConversions.of(PostgresDialect.INSTANCE));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConnectionPool primaryPool;
+    private BidR2dbcRepository primaryBids;
+    private LotBidSummaryR2dbcRepository primarySummaries;
+    private BidReadReplica replica;
+
+    @BeforeAll
+    static void createDatabases() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            connection.createStatement().execute("CREATE DATABASE " + REPLICA_DB);
+        }
+        migrate(postgres.getJdbcUrl());
+        migrate(postgres.getJdbcUrl().replace("/bid_primary", "/" + REPLICA_DB));
+    }
+
+    @BeforeEach
+    void setUp() {
+        primaryPool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                ConnectionFactories.get(r2dbcUrl(postgres.getDatabaseName()))).maxSize(4).build());
+        R2dbcRepositoryFactory primary = new R2dbcRepositoryFactory(new R2dbcEntityTemplate(
+                DatabaseClient.create(primaryPool), PostgresDialect.INSTANCE, converter));
+        primaryBids = primary.getRepository(BidR2dbcRepository.class);
+        primarySummaries = primary.getRepository(LotBidSummaryR2dbcRepository.class);
+        primaryBids.deleteAll().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.destroy();
+        primaryPool.dispose();
+    }
+
+    @Test
+    void staleTolerantReads_shouldGoToReplica_andLatestReadsToPrimary() {
+        replica = replica(r2dbcUrl(REPLICA_DB));
+        BidR2dbcRepository replicaBids = replica.bids().orElseThrow();
+        replicaBids.deleteAll().block();
+        primaryBids.save(bid("200.00")).block();
+        replicaBids.save(bid("100.00")).block();
+        BidRepositoryAdapter adapter = adapter(replica);
+
+        assertThat(amounts(adapter, ReadConsistency.STALE_OK)).containsExactly(new BigDecimal("100.00"));
+        assertThat(amounts(adapter, ReadConsistency.LATEST)).containsExactly(new BigDecimal("200.00"));
+    }
+
+    @Test
+    void staleTolerantReads_shouldFallBackToPrimary_whenReplicaIsDown() {
+        replica = replica("r2dbc:postgresql://test:test@" + postgres.getHost() + ":1/" + REPLICA_DB);
+        primaryBids.save(bid("200.00")).block();
+        BidRepositoryAdapter adapter = adapter(replica);
+
+        assertThat(amounts(adapter, ReadConsistency.STALE_OK)).containsExactly(new BigDecimal("200.00"));
+        assertThat(meterRegistry.counter("bid.repository.replica.fallbacks").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reads_shouldUsePrimary_whenNoReplicaIsConfigured() {
+        replica = replica("");
+        primaryBids.save(bid("200.00")).block();
+
+        assertThat(replica.bids()).isEmpty();
+        assertThat(amounts(adapter(replica), ReadConsistency.STALE_OK)).containsExactly(new BigDecimal("200.00"));
+    }
+
+    private BidReadReplica replica(String url) {
+        return new BidReadReplica(converter, url, "", "", 2, Duration.ofSeconds(1));
+    }
+
+    private BidRepositoryAdapter adapter(BidReadReplica replica) {
+        return new BidRepositoryAdapter(primaryBids, primarySummaries, new BidPersistenceMapper(),
+                null, null, replica, meterRegistry);
+    }
+
+    private static List<BigDecimal> amounts(BidRepositoryAdapter adapter, ReadConsistency consistency) {
+        return adapter.findByLotIdBefore(LOT_ID, null, null, 10, consistency)
+                .map(Bid::getAmount)
+                .collectList()
+                .block();
+    }
+
+    private static BidEntity bid(String amount) {
+        return BidEntity.builder()
+                .lotId(LOT_ID)
+                .bidderId(2L)
+                .amount(new BigDecimal(amount))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String r2dbcUrl(String database) {
+        return "r2dbc:postgresql://" + postgres.getUsername() + ":" + postgres.getPassword() + "@"
+                + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + database;
+    }
+
+    private static void migrate(String jdbcUrl) {
+        Flyway.configure()
+                .dataSource(jdbcUrl, postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+}
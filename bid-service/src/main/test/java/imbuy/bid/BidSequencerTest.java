@@ -0,0 +1,130 @@
+package imbuy.bid;
+
+import imbuy.bid.application.sequencer.BidSequencer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BidSequencerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BidSequencer sequencer;
+
+    @AfterEach
+    void tearDown() {
+        sequencer.destroy();
+    }
+
+    @Test
+    void tasksOfOneLot_shouldRunOneAtATime_inSubmissionOrder() {
+        sequencer = new BidSequencer(4, 256, TIMEOUT, meterRegistry);
+        List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Mono<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            tasks.add(sequencer.submit(1L, () -> Mono.fromRunnable(() -> {
+                        started.add(n);
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    })
+                    // Completes on another thread, after the lane has moved on to polling
+                    .then(Mono.delay(Duration.ofMillis(2)))
+                    .doOnNext(tick -> running.decrementAndGet())
+                    .thenReturn(n)));
+        }
+        // All submitted before any result is awaited
+        List<Integer> results = Flux.mergeSequential(tasks).collectList().block(TIMEOUT);
+
+        assertThat(results).containsExactlyElementsOf(IntStream.range(0, 20).boxed().toList());
+        assertThat(started).containsExactlyElementsOf(results);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void fullLane_shouldRejectWith503() {
+        sequencer = new BidSequencer(1, 2, TIMEOUT, meterRegistry);
+        Sinks.Empty<Void> release = Sinks.empty();
+        Disposable first = sequencer.submit(1L, release::asMono).subscribe();
+        Disposable second = sequencer.submit(2L, () -> Mono.just("queued")).subscribe();
+
+        assertThatThrownBy(() -> sequencer.submit(3L, () -> Mono.just("rejected")).block(TIMEOUT))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.counter("bid.sequencer.rejected").count()).isEqualTo(1.0);
+
+        // Once the lane drains it accepts work again; its slots are freed just after the tasks complete
+        release.tryEmitEmpty();
+        assertThat(sequencer.submit(3L, () -> Mono.just("accepted"))
+                .retryWhen(Retry.fixedDelay(100, Duration.ofMillis(10)).filter(ResponseStatusException.class::isInstance))
+                .block(TIMEOUT)).isEqualTo("accepted");
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void hungTask_shouldTimeOutWith503_andLetTheLaneMoveOn() {
+        sequencer = new BidSequencer(1, 256, Duration.ofMillis(100), meterRegistry);
+        CompletableFuture<Object> hung = sequencer.submit(1L, Mono::never).toFuture();
+
+        // Queued behind the hung task on the only lane
+        assertThat(sequencer.submit(2L, () -> Mono.just("next")).block(TIMEOUT)).isEqualTo("next");
+        assertThatThrownBy(hung::join)
+                .hasCauseInstanceOf(ResponseStatusException.class)
+                .cause()
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.counter("bid.sequencer.timed_out").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedTask_shouldNotHoldUpTheNextOne() {
+        sequencer = new BidSequencer(1, 256, TIMEOUT, meterRegistry);
+        Mono<String> failing = sequencer.submit(1L, () -> Mono.error(new IllegalStateException("boom")));
+        Mono<String> throwing = sequencer.submit(1L, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThatThrownBy(() -> failing.block(TIMEOUT)).hasMessage("boom");
+        assertThatThrownBy(() -> throwing.block(TIMEOUT)).hasMessage("boom");
+        assertThat(sequencer.submit(1L, () -> Mono.just("next")).block(TIMEOUT)).isEqualTo("next");
+    }
+
+    @Test
+    void taskCancelledWhileQueued_shouldNotRun() {
+        sequencer = new BidSequencer(1, 256, TIMEOUT, meterRegistry);
+        Sinks.Empty<Void> release = Sinks.empty();
+        Disposable running = sequencer.submit(1L, release::asMono).subscribe();
+        AtomicBoolean ran = new AtomicBoolean();
+        Disposable queued = sequencer.submit(1L, () -> Mono.fromRunnable(() -> ran.set(true))).subscribe();
+
+        queued.dispose();
+        release.tryEmitEmpty();
+
+        assertThat(sequencer.submit(1L, () -> Mono.just("after")).block(TIMEOUT)).isEqualTo("after");
+        assertThat(ran).isFalse();
+        running.dispose();
+    }
+}
@@ -4,8 +4,10 @@ import imbuy.bid.application.dto.BidDto;
 import imbuy.bid.application.dto.CreateBidDto;
 import imbuy.bid.application.mapper.BidMapper;
 import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.port.out.LotRulesPort;
 import imbuy.bid.application.service.BidService;
 import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.LotRules;
 import imbuy.bid.infrastructure.security.JwtService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.kafka.core.KafkaTemplate;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,7 +37,8 @@ import static org.mockito.Mockito.when;
         "spring.cloud.config.enabled=false",
         "eureka.client.enabled=false",
         "spring.main.allow-bean-definition-overriding=true",
-        "spring.kafka.bootstrap-servers=dummy:1234"
+        "spring.kafka.bootstrap-servers=dummy:1234",
+        "app.bid.requests.enabled=false"
 })
 @Testcontainers
 @ActiveProfiles("test")
@@ -80,10 +84,14 @@ class BidServiceApplicationTest {
     @MockBean
     private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
 
+    @MockBean
+    private LotRulesPort lotRulesPort;
+
 
     @BeforeEach
     void setUp() {
-        when(kafkaTemplate.send(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any()))
+        when(kafkaTemplate.send(org.mockito.ArgumentMatchers.any(), org.mockito.ArgumentMatchers.any(),
+                org.mockito.ArgumentMatchers.any()))
                 .thenReturn(null);
 
         when(jwtService.isTokenValid(org.mockito.ArgumentMatchers.anyString()))
@@ -93,6 +101,10 @@ class BidServiceApplicationTest {
         when(jwtService.extractUsername(org.mockito.ArgumentMatchers.anyString()))
                 .thenReturn("User 1");
 
+        when(lotRulesPort.findRules(org.mockito.ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> Mono.just(new LotRules(invocation.getArgument(0), 10000, 1000,
+                        LocalDateTime.now().plusDays(1), LotRules.ACTIVE)));
+
         bidRepository.deleteAll().block();
 
         testBid = Bid.builder()
@@ -0,0 +1,79 @@
+package imbuy.bid;
+
+import imbuy.bid.application.port.out.BidRepositoryPort;
+import imbuy.bid.application.stream.BidStreamHub;
+import imbuy.bid.domain.model.Bid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bids reach the hub both from this instance's own writes and from the bid events topic.
+ */
+class BidStreamHubTest {
+
+    private static final long LOT_ID = 1L;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private BidStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        BidRepositoryPort repository = mock(BidRepositoryPort.class);
+        when(repository.findByLotIdBefore(anyLong(), any(), any(), anyInt(), any())).thenReturn(Flux.empty());
+        hub = new BidStreamHub(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(hub, "snapshotSize", 20);
+        ReflectionTestUtils.setField(hub, "bufferSize", 256);
+    }
+
+    @Test
+    void bidSeenAgainOnTheTopic_shouldBeEmittedOnce() {
+        StepVerifier.create(hub.subscribe(LOT_ID).map(Bid::getId))
+                .then(() -> {
+                    // Saved here, then relayed back from the topic
+                    hub.publish(bid(10L, "100.00"));
+                    hub.publish(bid(10L, "100.00"));
+                    // Saved by another instance
+                    hub.publish(bid(11L, "110.00"));
+                })
+                .expectNext(10L, 11L)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void remoteBidWithLowerId_shouldStillBeEmitted() {
+        StepVerifier.create(hub.subscribe(LOT_ID).map(Bid::getId))
+                .then(() -> {
+                    hub.publish(bid(12L, "120.00"));
+                    // Committed by another instance, relayed only after our own bid
+                    hub.publish(bid(11L, "110.00"));
+                })
+                .expectNext(12L, 11L)
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    private static Bid bid(long id, String amount) {
+        return Bid.builder()
+                .id(id)
+                .lotId(LOT_ID)
+                .bidderId(7L)
+                .amount(new BigDecimal(amount))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package imbuy.bid;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.infrastructure.persistence.adapter.BidWriter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The summary row guards the lot's highest bid against writers that validated against a stale
+ * book, as two instances each with their own top-of-book cache would.
+ */
+@Testcontainers
+class BidWriterTest {
+
+    private static final long LOT_ID = 1L;
+    private static final long STEP = 1000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid")
+            .withUsername("test")
+            .withPassword("test");
+
+    private ConnectionPool pool;
+    private DatabaseClient databaseClient;
+    private BidWriter writer;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                "r2dbc:postgresql://" + postgres.getUsername() + ":" + postgres.getPassword() + "@"
+                        + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + postgres.getDatabaseName()))
+                .maxSize(2)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        writer = new BidWriter(databaseClient, new ObjectMapper().findAndRegisterModules());
+        for (String table : new String[] {"bids", "outbox", "lot_bid_summary"}) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void insert_shouldRejectBidBelowHighestPlusStep() {
+        writer.insert(List.of(bid(2L, "100.00"))).blockLast();
+
+        // Validated by another instance against a book without the 100.00 bid
+        assertThatThrownBy(() -> writer.insert(List.of(bid(3L, "105.00"))).blockLast())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(count("SELECT COUNT(*) AS n FROM bids")).isEqualTo(1L);
+        assertThat(count("SELECT COUNT(*) AS n FROM outbox")).isEqualTo(1L);
+        assertThat(count("SELECT bid_count AS n FROM lot_bid_summary WHERE lot_id = " + LOT_ID)).isEqualTo(1L);
+        assertThat(count("SELECT winner_bidder_id AS n FROM lot_bid_summary WHERE lot_id = " + LOT_ID)).isEqualTo(2L);
+    }
+
+    @Test
+    void insert_shouldAcceptBidClearingHighestByStep() {
+        writer.insert(List.of(bid(2L, "100.00"))).blockLast();
+
+        writer.insert(List.of(bid(3L, "110.00"))).blockLast();
+
+        assertThat(count("SELECT bid_count AS n FROM lot_bid_summary WHERE lot_id = " + LOT_ID)).isEqualTo(2L);
+        assertThat(count("SELECT winner_bidder_id AS n FROM lot_bid_summary WHERE lot_id = " + LOT_ID)).isEqualTo(3L);
+    }
+
+    @Test
+    void insert_shouldRollBackWholeBatch_whenOneBidIsRejected() {
+        writer.insert(List.of(bid(2L, "100.00"))).blockLast();
+
+        // A proxy runner-up that still clears the price, then a winner that does not clear it
+        assertThatThrownBy(() -> writer.insert(List.of(bid(3L, "120.00"), bid(4L, "125.00"))).blockLast())
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(count("SELECT COUNT(*) AS n FROM bids")).isEqualTo(1L);
+        assertThat(count("SELECT winner_bidder_id AS n FROM lot_bid_summary WHERE lot_id = " + LOT_ID)).isEqualTo(2L);
+    }
+
+    private static Bid bid(long bidderId, String amount) {
+        return Bid.builder()
+                .lotId(LOT_ID)
+                .bidderId(bidderId)
+                .amount(new BigDecimal(amount))
+                .createdAt(LocalDateTime.now())
+                .bidStep(STEP)
+                .build();
+    }
+
+    private long count(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get("n", Long.class)).one().block();
+    }
+}
@@ -0,0 +1,130 @@
+package imbuy.bid;
+
+import imbuy.bid.infrastructure.persistence.adapter.BidArchiver;
+import imbuy.bid.infrastructure.persistence.adapter.LotBidSummaryRebuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.Result;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rebuilding {@code lot_bid_summary} once some lots have had their bids moved to {@code bids_archive}.
+ */
+@Testcontainers
+class LotBidSummaryRebuilderTest {
+
+    private static final long OPEN_LOT = 1L;
+    private static final long CLOSED_LOT = 2L;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid")
+            .withUsername("test")
+            .withPassword("test");
+
+    private ConnectionPool pool;
+    private DatabaseClient databaseClient;
+    private LotBidSummaryRebuilder rebuilder;
+    private BidArchiver archiver;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                "r2dbc:postgresql://" + postgres.getUsername() + ":" + postgres.getPassword() + "@"
+                        + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + postgres.getDatabaseName()))
+                .maxSize(2)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        rebuilder = new LotBidSummaryRebuilder(databaseClient, null);
+        archiver = new BidArchiver(databaseClient, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(archiver, "enabled", true);
+        ReflectionTestUtils.setField(archiver, "grace", Duration.ZERO);
+        ReflectionTestUtils.setField(archiver, "lotsPerRun", 10);
+        for (String table : new String[] {"bids", "bids_archive", "closed_lots", "lot_bid_summary"}) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void rebuild_shouldKeepSummaryOfArchivedLot() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(10);
+        insertBid(OPEN_LOT, 10L, "100.00", start);
+        insertBid(OPEN_LOT, 11L, "120.00", start.plusMinutes(1));
+        insertBid(CLOSED_LOT, 20L, "300.00", start);
+        insertBid(CLOSED_LOT, 21L, "300.00", start.plusMinutes(1));
+        insertBid(CLOSED_LOT, 22L, "250.00", start.plusMinutes(2));
+        assertThat(rebuilder.rebuild().block()).isEqualTo(2L);
+
+        archiver.lotClosed(CLOSED_LOT, "COMPLETED").block();
+        archiver.archive();
+        assertThat(count("SELECT COUNT(*) AS n FROM bids WHERE lot_id = " + CLOSED_LOT)).isZero();
+        assertThat(count("SELECT COUNT(*) AS n FROM bids_archive WHERE lot_id = " + CLOSED_LOT)).isEqualTo(3L);
+
+        assertThat(rebuilder.rebuild().block()).isEqualTo(2L);
+
+        assertSummary(OPEN_LOT, "120.00", 11L, 2L);
+        // Equal maximums: the earlier bid stays the winner
+        assertSummary(CLOSED_LOT, "300.00", 20L, 3L);
+    }
+
+    private void insertBid(long lotId, long bidderId, String amount, LocalDateTime createdAt) {
+        databaseClient.inConnection(connection -> Flux.from(connection
+                        .createStatement("INSERT INTO bids (lot_id, bidder_id, amount, created_at) VALUES ($1, $2, $3, $4)")
+                        .bind("$1", lotId)
+                        .bind("$2", bidderId)
+                        .bind("$3", new BigDecimal(amount))
+                        .bind("$4", createdAt)
+                        .execute())
+                .concatMap(Result::getRowsUpdated)
+                .then()).block();
+    }
+
+    private long count(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get("n", Long.class)).one().block();
+    }
+
+    private void assertSummary(long lotId, String maxAmount, long winnerBidderId, long bidCount) {
+        Map<String, Object> summary = databaseClient
+                .sql("SELECT max_amount, winner_bidder_id, bid_count FROM lot_bid_summary WHERE lot_id = " + lotId)
+                .fetch()
+                .one()
+                .block();
+        assertThat(summary).isNotNull();
+        assertThat((BigDecimal) summary.get("max_amount")).isEqualByComparingTo(maxAmount);
+        assertThat(summary.get("winner_bidder_id")).isEqualTo(winnerBidderId);
+        assertThat(summary.get("bid_count")).isEqualTo(bidCount);
+    }
+}
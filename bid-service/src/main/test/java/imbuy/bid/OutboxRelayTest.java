@@ -0,0 +1,147 @@
+package imbuy.bid;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.bid.BidPlacedEvent;
+import imbuy.bid.infrastructure.kafka.KafkaPublishTimers;
+import imbuy.bid.infrastructure.kafka.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+class OutboxRelayTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid")
+            .withUsername("test")
+            .withPassword("test");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    // Bid ids in the order the broker was asked to take them
+    private final List<Long> attempts = new ArrayList<>();
+    private final Set<Long> failOnce = new HashSet<>();
+
+    private ConnectionPool pool;
+    private DatabaseClient databaseClient;
+    private OutboxRelay relay;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(
+                "r2dbc:postgresql://" + postgres.getUsername() + ":" + postgres.getPassword() + "@"
+                        + postgres.getHost() + ":" + postgres.getMappedPort(5432) + "/" + postgres.getDatabaseName()))
+                .maxSize(2)
+                .build());
+        databaseClient = DatabaseClient.create(pool);
+        for (String table : new String[] {"outbox", "outbox_parked"}) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(eq(TopicNames.BID_EVENTS), any(), any())).thenAnswer(invocation -> {
+            Long bidId = ((BidPlacedEvent) invocation.getArgument(2)).getBidId();
+            attempts.add(bidId);
+            return failOnce.remove(bidId)
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(databaseClient, kafkaTemplate, objectMapper,
+                new KafkaPublishTimers(meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 200);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 20);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void failedSend_shouldHoldBackLaterEventsOfItsLotOnly() throws Exception {
+        insert(1L, event(1L, 1L));
+        insert(1L, event(2L, 1L));
+        insert(2L, event(3L, 2L));
+        insert(1L, event(4L, 1L));
+        failOnce.add(1L);
+
+        relay.relay();
+
+        // Bids 2 and 4 never reached the broker ahead of bid 1
+        assertThat(attempts).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(count("SELECT COUNT(*) AS n FROM outbox")).isEqualTo(3L);
+
+        attempts.clear();
+        relay.relay();
+
+        assertThat(attempts).containsExactly(1L, 2L, 4L);
+        assertThat(count("SELECT COUNT(*) AS n FROM outbox")).isZero();
+    }
+
+    @Test
+    void unreadableRow_shouldBeParked_andNotHoldUpItsLot() throws Exception {
+        insert(1L, "{\"eventType\":\"NO_SUCH_EVENT\"}");
+        insert(1L, event(2L, 1L));
+
+        relay.relay();
+
+        assertThat(attempts).containsExactly(2L);
+        assertThat(count("SELECT COUNT(*) AS n FROM outbox")).isZero();
+        assertThat(count("SELECT COUNT(*) AS n FROM outbox_parked WHERE lot_id = 1")).isEqualTo(1L);
+    }
+
+    private String event(long bidId, long lotId) throws Exception {
+        return objectMapper.writeValueAsString(
+                new BidPlacedEvent("bid-service", bidId, lotId, 7L, new BigDecimal("100.00")));
+    }
+
+    private void insert(long lotId, String payload) {
+        databaseClient.sql("INSERT INTO outbox (lot_id, event_type, payload) VALUES ("
+                        + lotId + ", 'BID_PLACED', CAST('" + payload + "' AS jsonb))")
+                .then()
+                .block();
+    }
+
+    private long count(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get("n", Long.class)).one().block();
+    }
+}
@@ -0,0 +1,128 @@
+package imbuy.bid;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.infrastructure.persistence.adapter.BidWriter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bid insert throughput of 64 concurrent bidders as the R2DBC pool grows. Every bid is the
+ * full {@link BidWriter} transaction, so a connection is held for several round trips.
+ * Also reports the peak number of bidders waiting for a connection.
+ */
+@Testcontainers
+@Tag("benchmark")
+class R2dbcPoolLoadTest {
+
+    private static final int BIDDERS = 64;
+    private static final int BIDS_PER_RUN = 8_192;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("bid_pool")
+            .withUsername("test")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4, 8, 16, 32})
+    void insertThroughput(int poolSize) {
+        ConnectionFactory connections = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host(postgres.getHost())
+                .port(postgres.getMappedPort(5432))
+                .database(postgres.getDatabaseName())
+                .username(postgres.getUsername())
+                .password(postgres.getPassword())
+                .preparedStatementCacheQueries(256)
+                .build());
+
+        Result result = run(connections, poolSize);
+
+        System.out.printf("pool=%d %.0f bids/s, up to %d bidders waiting for a connection%n",
+                poolSize, result.bidsPerSecond(), result.maxPending());
+        assertThat(result.bids()).isEqualTo(BIDS_PER_RUN);
+    }
+
+    static Result run(ConnectionFactory connections, int poolSize) {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connections)
+                .initialSize(poolSize)
+                .maxSize(poolSize)
+                .maxAcquireTime(Duration.ofSeconds(30))
+                .build());
+        try {
+            BidWriter writer = new BidWriter(DatabaseClient.create(pool),
+                    new ObjectMapper().registerModule(new JavaTimeModule()));
+            // Opens every connection and prepares the statements before measuring
+            insert(writer, pool, BIDDERS, poolSize * 8);
+
+            AtomicInteger maxPending = new AtomicInteger();
+            long started = System.nanoTime();
+            int bids = insert(writer, pool, BIDDERS, BIDS_PER_RUN, maxPending);
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return new Result(bids, bids / seconds, maxPending.get());
+        } finally {
+            pool.dispose();
+        }
+    }
+
+    private static int insert(BidWriter writer, ConnectionPool pool, int bidders, int total) {
+        return insert(writer, pool, bidders, total, new AtomicInteger());
+    }
+
+    private static int insert(BidWriter writer, ConnectionPool pool, int bidders, int total, AtomicInteger maxPending) {
+        int perBidder = total / bidders;
+        List<Bid> saved = Flux.range(0, bidders)
+                .flatMap(bidder -> Flux.range(0, perBidder)
+                                .concatMap(i -> writer.insert(List.of(bid(bidder, i)))
+                                        .doOnSubscribe(s -> pool.getMetrics().ifPresent(metrics ->
+                                                maxPending.accumulateAndGet(metrics.pendingAcquireSize(), Math::max)))),
+                        bidders)
+                .collectList()
+                .block();
+        return saved == null ? 0 : saved.size();
+    }
+
+    private static Bid bid(int bidder, int sequence) {
+        return Bid.builder()
+                .lotId((long) (bidder % 16) + 1)
+                .bidderId((long) bidder + 1)
+                .amount(new BigDecimal(100 + sequence * 10L))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    record Result(int bids, double bidsPerSecond, int maxPending) {
+    }
+}
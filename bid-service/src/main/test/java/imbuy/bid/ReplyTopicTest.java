@@ -0,0 +1,33 @@
+package imbuy.bid;
+
+import com.imbuy.events.ReplyTopics;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.lot.LotRulesRequestEvent;
+import imbuy.bid.infrastructure.kafka.ReplyTopic;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplyTopicTest {
+
+    @Test
+    void name_shouldOnlyContainCharactersKafkaAllows() {
+        ReplyTopic replyTopic = new ReplyTopic("bid-service:7f3a/b c");
+
+        assertThat(replyTopic.name()).isEqualTo("bid-service-replies.bid-service-7f3a-b-c");
+    }
+
+    @Test
+    void request_shouldNameReplyTopicAndKeepKey() {
+        ReplyTopic replyTopic = new ReplyTopic("pod-1");
+        LotRulesRequestEvent request = new LotRulesRequestEvent("bid-service", 42L, "request-1");
+
+        ProducerRecord<String, Object> record = replyTopic.request(TopicNames.LOT_REQUESTS, request);
+
+        assertThat(record.topic()).isEqualTo(TopicNames.LOT_REQUESTS);
+        assertThat(record.key()).isEqualTo("42");
+        assertThat(ReplyTopics.replyTopic(record.headers(), TopicNames.LOT_RESPONSES))
+                .isEqualTo("bid-service-replies.pod-1");
+    }
+}
@@ -0,0 +1,129 @@
+package imbuy.bid.application.proxy;
+
+import imbuy.bid.application.port.out.ProxyBidRepositoryPort;
+import imbuy.bid.domain.model.Bid;
+import imbuy.bid.domain.model.LotRules;
+import imbuy.bid.domain.model.Money;
+import imbuy.bid.domain.model.ProxyBid;
+import imbuy.bid.domain.model.TopOfBook;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lot starting at 100.00 with a 10.00 bid step.
+ */
+class ProxyBidEngineTest {
+
+    private static final long LOT_ID = 1L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final LotRules RULES =
+            new LotRules(LOT_ID, 10000, 1000, LocalDateTime.now().plusDays(1), LotRules.ACTIVE);
+
+    @Test
+    void singleProxy_withoutBids_shouldOpenAtStartPrice() {
+        List<Bid> bids = ProxyBidEngine.autoBidsFor(noBids(), RULES, List.of(proxy(1L, "500.00", 0)));
+
+        assertThat(bids).extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "100.00"));
+        assertThat(bids).allSatisfy(bid -> {
+            assertThat(bid.isAutoPlaced()).isTrue();
+            assertThat(bid.getBidStep()).isEqualTo(RULES.getBidStep());
+        });
+    }
+
+    @Test
+    void proxyAgainstProxy_shouldLeadOneStepAboveRunnerUp() {
+        List<Bid> bids = ProxyBidEngine.autoBidsFor(noBids(), RULES, List.of(
+                proxy(1L, "200.00", 0),
+                proxy(2L, "300.00", 1)));
+
+        // The runner-up's maximum is recorded before the winner's answer
+        assertThat(bids).extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "200.00"), bid(2L, "210.00"));
+    }
+
+    @Test
+    void proxyAgainstManualBid_shouldOutbidByOneStep() {
+        List<Bid> bids = ProxyBidEngine.autoBidsFor(leading(3L, "150.00"), RULES, List.of(proxy(1L, "300.00", 0)));
+
+        assertThat(bids).extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "160.00"));
+    }
+
+    @Test
+    void equalMaximums_shouldGoToTheEarlierProxy() {
+        List<Bid> bids = ProxyBidEngine.autoBidsFor(noBids(), RULES, List.of(
+                proxy(2L, "200.00", 5),
+                proxy(1L, "200.00", 0)));
+
+        // The later proxy cannot be cleared by a step, so only the winner bids
+        assertThat(bids).extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "200.00"));
+    }
+
+    @Test
+    void winner_shouldNotBidAboveItsMaximum() {
+        List<Bid> bids = ProxyBidEngine.autoBidsFor(noBids(), RULES, List.of(
+                proxy(1L, "205.00", 0),
+                proxy(2L, "200.00", 1)));
+
+        assertThat(bids).extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "205.00"));
+    }
+
+    @Test
+    void leaderAlone_orOutbidProxies_shouldPlaceNothing() {
+        assertThat(ProxyBidEngine.autoBidsFor(leading(1L, "150.00"), RULES, List.of(proxy(1L, "300.00", 0))))
+                .isEmpty();
+        assertThat(ProxyBidEngine.autoBidsFor(leading(3L, "300.00"), RULES, List.of(proxy(1L, "305.00", 0))))
+                .isEmpty();
+    }
+
+    @Test
+    void resolve_shouldSeeProxiesRegisteredThroughAnotherInstance() {
+        ProxyBidRepositoryPort repository = mock(ProxyBidRepositoryPort.class);
+        ProxyBidEngine engine = new ProxyBidEngine(repository, new SimpleMeterRegistry());
+        when(repository.findByLotId(LOT_ID))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just(proxy(1L, "300.00", 0)));
+
+        assertThat(engine.resolve(leading(3L, "150.00"), RULES).block()).isEmpty();
+        // Registered elsewhere; this instance never saw the register call
+        assertThat(engine.resolve(leading(3L, "150.00"), RULES).block())
+                .extracting(Bid::getBidderId, Bid::getAmount)
+                .containsExactly(bid(1L, "160.00"));
+    }
+
+    private static TopOfBook noBids() {
+        return TopOfBook.empty(LOT_ID);
+    }
+
+    private static TopOfBook leading(Long bidderId, String amount) {
+        return new TopOfBook(LOT_ID, Money.toMinor(new BigDecimal(amount)), bidderId, 1);
+    }
+
+    private static ProxyBid proxy(Long bidderId, String maxAmount, int minutesAfterT0) {
+        return ProxyBid.builder()
+                .id(bidderId)
+                .lotId(LOT_ID)
+                .bidderId(bidderId)
+                .maxAmount(new BigDecimal(maxAmount))
+                .createdAt(T0.plusMinutes(minutesAfterT0))
+                .updatedAt(T0.plusMinutes(minutesAfterT0))
+                .build();
+    }
+
+    private static Tuple bid(Long bidderId, String amount) {
+        return Tuple.tuple(bidderId, new BigDecimal(amount));
+    }
+}
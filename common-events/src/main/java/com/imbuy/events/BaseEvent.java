@@ -9,6 +9,8 @@ import com.imbuy.events.bid.BidWinnerResponseEvent;
 import com.imbuy.events.file.FileDeletedEvent;
 import com.imbuy.events.file.FileUploadedEvent;
 import com.imbuy.events.lot.LotCreatedEvent;
+import com.imbuy.events.lot.LotRulesRequestEvent;
+import com.imbuy.events.lot.LotRulesResponseEvent;
 import com.imbuy.events.lot.LotStatusChangedEvent;
 import com.imbuy.events.lot.LotUpdatedEvent;
 import com.imbuy.events.notification.NotificationEvent;
@@ -35,6 +37,8 @@ import java.util.UUID;
     @JsonSubTypes.Type(value = LotCreatedEvent.class, name = "LOT_CREATED"),
     @JsonSubTypes.Type(value = LotUpdatedEvent.class, name = "LOT_UPDATED"),
     @JsonSubTypes.Type(value = LotStatusChangedEvent.class, name = "LOT_STATUS_CHANGED"),
+    @JsonSubTypes.Type(value = LotRulesRequestEvent.class, name = "LOT_RULES_REQUEST"),
+    @JsonSubTypes.Type(value = LotRulesResponseEvent.class, name = "LOT_RULES_RESPONSE"),
     @JsonSubTypes.Type(value = BidPlacedEvent.class, name = "BID_PLACED"),
     @JsonSubTypes.Type(value = BidWinnerRequestEvent.class, name = "BID_WINNER_REQUEST"),
     @JsonSubTypes.Type(value = BidWinnerResponseEvent.class, name = "BID_WINNER_RESPONSE"),
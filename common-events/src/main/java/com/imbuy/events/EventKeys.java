@@ -0,0 +1,118 @@
+package com.imbuy.events;
+
+import com.imbuy.events.bid.BidPlacedEvent;
+import com.imbuy.events.bid.BidWinnerRequestEvent;
+import com.imbuy.events.bid.BidWinnerResponseEvent;
+import com.imbuy.events.file.FileDeletedEvent;
+import com.imbuy.events.file.FileUploadedEvent;
+import com.imbuy.events.lot.LotCreatedEvent;
+import com.imbuy.events.lot.LotRulesRequestEvent;
+import com.imbuy.events.lot.LotRulesResponseEvent;
+import com.imbuy.events.lot.LotStatusChangedEvent;
+import com.imbuy.events.lot.LotUpdatedEvent;
+import com.imbuy.events.notification.NotificationEvent;
+import com.imbuy.events.user.UserCreatedEvent;
+import com.imbuy.events.user.UserRequestEvent;
+import com.imbuy.events.user.UserResponseEvent;
+import com.imbuy.events.user.UserUpdatedEvent;
+
+/**
+ * Kafka record keys for events. Every producer sends with {@link #keyOf(BaseEvent)}, so all
+ * events of one lot (lot and bid events) or of one user (user and notification events)
+ * land on the same partition and are consumed in the order they were sent, however many
+ * partitions a topic has. File events are keyed by file.
+ * <p>
+ * Events without such an id fall back to the request id or, failing that, the event id.
+ */
+public final class EventKeys {
+
+    private EventKeys() {
+        // Utility class
+    }
+
+    public static String keyOf(BaseEvent event) {
+        Long id = entityId(event);
+        if (id != null) {
+            return String.valueOf(id);
+        }
+        String requestId = requestId(event);
+        if (requestId != null) {
+            return requestId;
+        }
+        return event.getEventId() != null ? event.getEventId().toString() : null;
+    }
+
+    private static Long entityId(BaseEvent event) {
+        // Lot and bid events
+        if (event instanceof BidPlacedEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof BidWinnerRequestEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof BidWinnerResponseEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof LotCreatedEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof LotUpdatedEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof LotStatusChangedEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof LotRulesRequestEvent e) {
+            return e.getLotId();
+        }
+        if (event instanceof LotRulesResponseEvent e) {
+            return e.getLotId();
+        }
+        // File events, so that an upload and the deletion of the same file stay in order
+        if (event instanceof FileUploadedEvent e) {
+            return e.getFileId();
+        }
+        if (event instanceof FileDeletedEvent e) {
+            return e.getFileId();
+        }
+        // User events
+        if (event instanceof UserCreatedEvent e) {
+            return e.getUserId();
+        }
+        if (event instanceof UserUpdatedEvent e) {
+            return e.getUserId();
+        }
+        if (event instanceof UserRequestEvent e) {
+            return e.getUserId();
+        }
+        if (event instanceof UserResponseEvent e) {
+            return e.getUserId();
+        }
+        if (event instanceof NotificationEvent e) {
+            return e.getUserId();
+        }
+        return null;
+    }
+
+    private static String requestId(BaseEvent event) {
+        if (event instanceof BidWinnerRequestEvent e) {
+            return e.getRequestId();
+        }
+        if (event instanceof BidWinnerResponseEvent e) {
+            return e.getRequestId();
+        }
+        if (event instanceof LotRulesRequestEvent e) {
+            return e.getRequestId();
+        }
+        if (event instanceof LotRulesResponseEvent e) {
+            return e.getRequestId();
+        }
+        if (event instanceof UserRequestEvent e) {
+            return e.getRequestId();
+        }
+        if (event instanceof UserResponseEvent e) {
+            return e.getRequestId();
+        }
+        return null;
+    }
+}
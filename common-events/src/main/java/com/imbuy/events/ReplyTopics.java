@@ -0,0 +1,41 @@
+package com.imbuy.events;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Where to send the response to a request event. A requester that runs as several instances
+ * names its own reply topic in the {@link #HEADER} header of the request, so that the response
+ * reaches the instance waiting for it; requests without the header are answered on the shared
+ * response topic as before.
+ */
+public final class ReplyTopics {
+
+    /**
+     * The header Spring's request/reply support uses for the same purpose.
+     */
+    public static final String HEADER = KafkaHeaders.REPLY_TOPIC;
+
+    private ReplyTopics() {
+        // Utility class
+    }
+
+    public static byte[] encode(String topic) {
+        return topic.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String replyTopic(byte[] header, String fallback) {
+        if (header == null || header.length == 0) {
+            return fallback;
+        }
+        return new String(header, StandardCharsets.UTF_8);
+    }
+
+    public static String replyTopic(Headers headers, String fallback) {
+        Header header = headers.lastHeader(HEADER);
+        return replyTopic(header != null ? header.value() : null, fallback);
+    }
+}
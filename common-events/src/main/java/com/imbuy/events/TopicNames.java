@@ -8,6 +8,8 @@ public class TopicNames {
     
     // Lot events
     public static final String LOT_EVENTS = "lot-events";
+    public static final String LOT_REQUESTS = "lot-requests";
+    public static final String LOT_RESPONSES = "lot-responses";
     
     // Bid events
     public static final String BID_EVENTS = "bid-events";
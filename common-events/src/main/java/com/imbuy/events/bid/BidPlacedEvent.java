@@ -15,13 +15,20 @@ public class BidPlacedEvent extends BaseEvent {
     private Long lotId;
     private Long bidderId;
     private BigDecimal amount;
+    private boolean autoPlaced;
 
     public BidPlacedEvent(String sourceService, Long bidId, Long lotId, Long bidderId, BigDecimal amount) {
+        this(sourceService, bidId, lotId, bidderId, amount, false);
+    }
+
+    public BidPlacedEvent(String sourceService, Long bidId, Long lotId, Long bidderId, BigDecimal amount,
+                          boolean autoPlaced) {
         super(sourceService);
         this.bidId = bidId;
         this.lotId = lotId;
         this.bidderId = bidderId;
         this.amount = amount;
+        this.autoPlaced = autoPlaced;
     }
 }
 
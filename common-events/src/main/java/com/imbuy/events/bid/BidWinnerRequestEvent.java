@@ -5,17 +5,27 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 public class BidWinnerRequestEvent extends BaseEvent {
     private Long lotId;
     private String requestId;
+    // Set instead of lotId to resolve several lots in one request
+    private List<Long> lotIds;
 
     public BidWinnerRequestEvent(String sourceService, Long lotId, String requestId) {
         super(sourceService);
         this.lotId = lotId;
         this.requestId = requestId;
     }
+
+    public BidWinnerRequestEvent(String sourceService, List<Long> lotIds, String requestId) {
+        super(sourceService);
+        this.lotIds = lotIds;
+        this.requestId = requestId;
+    }
 }
 
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -14,6 +16,8 @@ public class BidWinnerResponseEvent extends BaseEvent {
     private Long winnerId;
     private Boolean success;
     private String errorMessage;
+    // Answer to a request with lotIds; lots without bids are left out
+    private Map<Long, Long> winners;
 
     public BidWinnerResponseEvent(String sourceService, String requestId, Long lotId, 
                                   Long winnerId, Boolean success, String errorMessage) {
@@ -24,5 +28,14 @@ public class BidWinnerResponseEvent extends BaseEvent {
         this.success = success;
         this.errorMessage = errorMessage;
     }
+
+    public BidWinnerResponseEvent(String sourceService, String requestId, Map<Long, Long> winners,
+                                  Boolean success, String errorMessage) {
+        super(sourceService);
+        this.requestId = requestId;
+        this.winners = winners;
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
 }
 
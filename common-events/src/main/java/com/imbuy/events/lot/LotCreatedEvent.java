@@ -17,15 +17,24 @@ public class LotCreatedEvent extends BaseEvent {
     private Long ownerId;
     private BigDecimal startPrice;
     private LocalDateTime endDate;
+    private BigDecimal bidStep;
+    private String status;
 
     public LotCreatedEvent(String sourceService, Long lotId, String title, Long ownerId, 
                           BigDecimal startPrice, LocalDateTime endDate) {
+        this(sourceService, lotId, title, ownerId, startPrice, endDate, null, null);
+    }
+
+    public LotCreatedEvent(String sourceService, Long lotId, String title, Long ownerId,
+                           BigDecimal startPrice, LocalDateTime endDate, BigDecimal bidStep, String status) {
         super(sourceService);
         this.lotId = lotId;
         this.title = title;
         this.ownerId = ownerId;
         this.startPrice = startPrice;
         this.endDate = endDate;
+        this.bidStep = bidStep;
+        this.status = status;
     }
 }
 
@@ -0,0 +1,23 @@
+package com.imbuy.events.lot;
+
+import com.imbuy.events.BaseEvent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asks lot-service for the bidding rules of a lot.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class LotRulesRequestEvent extends BaseEvent {
+    private Long lotId;
+    private String requestId;
+
+    public LotRulesRequestEvent(String sourceService, Long lotId, String requestId) {
+        super(sourceService);
+        this.lotId = lotId;
+        this.requestId = requestId;
+    }
+}
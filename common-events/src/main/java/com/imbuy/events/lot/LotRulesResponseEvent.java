@@ -0,0 +1,42 @@
+package com.imbuy.events.lot;
+
+import com.imbuy.events.BaseEvent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Bidding rules of a lot: the first bid must reach the start price, later ones must beat
+ * the highest bid by the bid step, and bids are accepted only while the lot is ACTIVE
+ * and before its end date.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class LotRulesResponseEvent extends BaseEvent {
+    private String requestId;
+    private Long lotId;
+    private BigDecimal startPrice;
+    private BigDecimal bidStep;
+    private LocalDateTime endDate;
+    private String status;
+    private Boolean success;
+    private String errorMessage;
+
+    public LotRulesResponseEvent(String sourceService, String requestId, Long lotId, BigDecimal startPrice,
+                                 BigDecimal bidStep, LocalDateTime endDate, String status,
+                                 Boolean success, String errorMessage) {
+        super(sourceService);
+        this.requestId = requestId;
+        this.lotId = lotId;
+        this.startPrice = startPrice;
+        this.bidStep = bidStep;
+        this.endDate = endDate;
+        this.status = status;
+        this.success = success;
+        this.errorMessage = errorMessage;
+    }
+}
@@ -5,6 +5,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -12,12 +15,21 @@ public class LotUpdatedEvent extends BaseEvent {
     private Long lotId;
     private String title;
     private Long ownerId;
+    private BigDecimal bidStep;
+    private LocalDateTime endDate;
 
     public LotUpdatedEvent(String sourceService, Long lotId, String title, Long ownerId) {
+        this(sourceService, lotId, title, ownerId, null, null);
+    }
+
+    public LotUpdatedEvent(String sourceService, Long lotId, String title, Long ownerId,
+                           BigDecimal bidStep, LocalDateTime endDate) {
         super(sourceService);
         this.lotId = lotId;
         this.title = title;
         this.ownerId = ownerId;
+        this.bidStep = bidStep;
+        this.endDate = endDate;
     }
 }
 
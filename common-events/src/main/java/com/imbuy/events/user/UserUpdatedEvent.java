@@ -12,12 +12,14 @@ public class UserUpdatedEvent extends BaseEvent {
     private Long userId;
     private String username;
     private String email;
+    private String role;
 
-    public UserUpdatedEvent(String sourceService, Long userId, String username, String email) {
+    public UserUpdatedEvent(String sourceService, Long userId, String username, String email, String role) {
         super(sourceService);
         this.userId = userId;
         this.username = username;
         this.email = email;
+        this.role = role;
     }
 }
 
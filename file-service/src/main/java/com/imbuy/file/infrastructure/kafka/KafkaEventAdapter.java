@@ -1,6 +1,7 @@
 package com.imbuy.file.infrastructure.kafka;
 
 import com.imbuy.events.BaseEvent;
+import com.imbuy.events.EventKeys;
 import com.imbuy.file.application.port.out.KafkaEventPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,7 @@ public class KafkaEventAdapter implements KafkaEventPort {
     @Override
     public void publishEvent(String topic, BaseEvent event) {
         log.info("Publishing event to topic {}: {}", topic, event);
-        kafkaTemplate.send(topic, event);
+        kafkaTemplate.send(topic, EventKeys.keyOf(event), event);
     }
 }
 
@@ -0,0 +1,111 @@
+package imbuy.lot.application.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import imbuy.lot.application.dto.UserDto;
+import imbuy.lot.application.port.out.UserPort;
+import imbuy.lot.application.util.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Near cache of users in front of {@link UserPort}, so checking the owner or the role of the
+ * caller rarely waits for a Kafka round trip to user-service.
+ * <p>
+ * Concurrent misses for one user share one request, which {@link #getAsync} waits for without
+ * holding a thread. Entries are dropped on {@code UserUpdatedEvent} and in any case after
+ * {@code app.lot.users.ttl}, which bounds how long a missed event leaves a stale role around;
+ * at most {@code cache-size} users are kept.
+ * Failed lookups are not cached. Hit rate and size are published as the standard
+ * {@code cache.*} metrics with {@code cache=lot.users}.
+ */
+@Component
+public class UserCache {
+
+    private static final int WRITE_STRIPES = 1024;
+
+    private final UserPort userPort;
+    private final Cache<Long, UserDto> cache;
+    private final Map<Long, CompletableFuture<UserDto>> loading = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so that a load racing with it never caches the old user
+    private final AtomicLongArray writeSequence = new AtomicLongArray(WRITE_STRIPES);
+    private final Counter coalesced;
+
+    public UserCache(
+            UserPort userPort,
+            @Value("${app.lot.users.cache-size:10000}") long cacheSize,
+            @Value("${app.lot.users.ttl:PT5M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.userPort = userPort;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lot.users");
+        this.coalesced = meterRegistry.counter("lot.users.coalesced");
+    }
+
+    public UserDto get(Long userId) {
+        return Futures.await(getAsync(userId));
+    }
+
+    /**
+     * The cached user, or a future completed by the request to user-service, which callers
+     * missing the same user at the same time share.
+     */
+    public CompletableFuture<UserDto> getAsync(Long userId) {
+        UserDto user = cache.getIfPresent(userId);
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+
+        CompletableFuture<UserDto> load = new CompletableFuture<>();
+        CompletableFuture<UserDto> inFlight = loading.putIfAbsent(userId, load);
+        if (inFlight != null) {
+            coalesced.increment();
+            return inFlight;
+        }
+        long sequence = writeSequence.get(stripe(userId));
+        CompletableFuture<UserDto> request;
+        try {
+            request = userPort.getUserByIdAsync(userId);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        request.whenComplete((loaded, error) -> {
+            if (error != null) {
+                // Same error as a lookup that did not go through the cache
+                load.completeExceptionally(Futures.unwrap(error));
+            } else {
+                if (loaded != null && writeSequence.get(stripe(userId)) == sequence) {
+                    cache.put(userId, loaded);
+                }
+                load.complete(loaded);
+            }
+            loading.remove(userId, load);
+        });
+        return load;
+    }
+
+    /**
+     * Drops the cached user; the next lookup asks user-service again.
+     */
+    public void invalidate(Long userId) {
+        writeSequence.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (WRITE_STRIPES - 1);
+    }
+}
@@ -7,5 +7,14 @@ public record LotFilterDto(
         LotStatus status,
         Long category_id,
         Long owner_id,
-        Boolean active_only
-) {}
+        Boolean active_only,
+        String query
+) {
+
+    /**
+     * Whether there is a text query with at least one word to search for.
+     */
+    public boolean hasQuery() {
+        return query != null && query.codePoints().anyMatch(Character::isLetterOrDigit);
+    }
+}
@@ -0,0 +1,15 @@
+package imbuy.lot.application.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code highlights} maps lot ids to a fragment of their title and description with the
+ * matched words wrapped in {@code <mark>}; empty without a text query. The fragment is not
+ * HTML-escaped.
+ */
+public record LotPageDto(
+        List<LotDto> items,
+        String next_cursor,
+        Map<Long, String> highlights
+) {}
@@ -0,0 +1,13 @@
+package imbuy.lot.application.dto;
+
+import imbuy.lot.domain.model.Lot;
+
+/**
+ * A lot found by a listing query. {@code rank} and {@code highlight} are set only
+ * when the listing has a text query.
+ */
+public record LotSearchHit(
+        Lot lot,
+        Float rank,
+        String highlight
+) {}
@@ -2,17 +2,33 @@ package imbuy.lot.application.port.in;
 
 import imbuy.lot.application.dto.CreateLotDto;
 import imbuy.lot.application.dto.LotDto;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.application.dto.LotPageDto;
 import imbuy.lot.application.dto.UpdateLotDto;
+import imbuy.lot.domain.enums.LotSort;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface LotUseCase {
 
     LotDto getLotById(Long id);
 
-    LotDto createLot(CreateLotDto dto, Long userId);
+    /**
+     * One page of lots matching the filter. {@code cursor} is the {@code next_cursor} of the
+     * previous page, or null for the first one. Without a sort, lots are in relevance order
+     * when the filter has a text query and newest first otherwise.
+     */
+    LotPageDto searchLots(LotFilterDto filter, LotSort sort, String cursor, int size);
+
+    /**
+     * Completes once user-service has confirmed the user and the lot is saved; no thread waits
+     * for user-service in the meantime. The same holds for approving and cancelling a lot.
+     */
+    CompletableFuture<LotDto> createLot(CreateLotDto dto, Long userId);
 
-    LotDto approveLot(Long id, Long userId);
+    CompletableFuture<LotDto> approveLot(Long id, Long userId);
 
-    LotDto cancelLot(Long id, Long userId, String reason);
+    CompletableFuture<LotDto> cancelLot(Long id, Long userId, String reason);
 
     LotDto updateLot(Long id, UpdateLotDto dto, Long userId);
 
@@ -1,5 +1,13 @@
 package imbuy.lot.application.port.out;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface BidPort {
     Long getAuctionWinner(Long lotId);
+
+    /**
+     * Winner per lot in one request; lots without bids are left out.
+     */
+    Map<Long, Long> getAuctionWinners(Collection<Long> lotIds);
 }
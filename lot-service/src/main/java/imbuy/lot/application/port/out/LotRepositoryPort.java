@@ -1,6 +1,10 @@
 package imbuy.lot.application.port.out;
 
+import imbuy.lot.application.dto.LotCursor;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.application.dto.LotSearchHit;
 import imbuy.lot.domain.model.Lot;
+import imbuy.lot.domain.enums.LotSort;
 import imbuy.lot.domain.enums.LotStatus;
 import org.springframework.data.domain.Pageable;
 
@@ -15,5 +19,11 @@ public interface LotRepositoryPort {
 
     List<Lot> findByStatus(LotStatus status, Pageable pageable);
 
+    /**
+     * Up to {@code limit} lots matching the filter in {@code sort} order, starting after
+     * {@code after} (keyset pagination), or from the beginning when it is null.
+     */
+    List<LotSearchHit> search(LotFilterDto filter, LotSort sort, LotCursor after, int limit);
+
     void delete(Lot lot);
 }
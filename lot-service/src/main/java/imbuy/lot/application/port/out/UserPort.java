@@ -2,6 +2,13 @@ package imbuy.lot.application.port.out;
 
 import imbuy.lot.application.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserPort {
     UserDto getUserById(Long id);
+
+    /**
+     * Completes when user-service answers; the calling thread does not wait for it.
+     */
+    CompletableFuture<UserDto> getUserByIdAsync(Long id);
 }
@@ -1,5 +1,8 @@
 package imbuy.lot.application.service;
 
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.lot.LotStatusChangedEvent;
 import imbuy.lot.application.port.in.CloseExpiredLotsUseCase;
 import imbuy.lot.application.port.out.BidPort;
 import imbuy.lot.application.port.out.LotRepositoryPort;
@@ -9,9 +12,12 @@ import imbuy.lot.domain.enums.LotStatus;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +27,7 @@ public class CloseExpiredLotsService implements CloseExpiredLotsUseCase {
     private final LotRepositoryPort lotRepository;
     private final BidPort bidPort;
     private final LotDomainService domainService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Override
     public void closeExpiredLots() {
@@ -35,14 +42,25 @@ public class CloseExpiredLotsService implements CloseExpiredLotsUseCase {
 
             if (lots.isEmpty()) break;
 
-            for (Lot lot : lots) {
-                if (lot.getEndDate() != null &&
-                        lot.getEndDate().isBefore(LocalDateTime.now())) {
+            List<Lot> expired = lots.stream()
+                    .filter(lot -> lot.getEndDate() != null && lot.getEndDate().isBefore(LocalDateTime.now()))
+                    .toList();
+            // One winner request per page instead of one per lot
+            Map<Long, Long> winners = bidPort.getAuctionWinners(
+                    expired.stream().map(Lot::getId).toList()
+            );
 
-                    Long winnerId = bidPort.getAuctionWinner(lot.getId());
-                    Lot closed = domainService.close(lot, winnerId);
-                    lotRepository.save(closed);
-                }
+            for (Lot lot : expired) {
+                Long winnerId = winners.get(lot.getId());
+                Lot closed = lotRepository.save(domainService.close(lot, winnerId));
+                LotStatusChangedEvent event = new LotStatusChangedEvent(
+                        "lot-service",
+                        closed.getId(),
+                        lot.getStatus().name(),
+                        closed.getStatus().name(),
+                        closed.getWinnerId()
+                );
+                kafkaTemplate.send(TopicNames.LOT_EVENTS, EventKeys.keyOf(event), event);
             }
 
             page++;
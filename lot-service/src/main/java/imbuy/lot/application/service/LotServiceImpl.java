@@ -1,36 +1,60 @@
 package imbuy.lot.application.service;
 
+import com.imbuy.events.EventKeys;
 import com.imbuy.events.TopicNames;
 import com.imbuy.events.lot.LotCreatedEvent;
+import com.imbuy.events.lot.LotStatusChangedEvent;
+import com.imbuy.events.lot.LotUpdatedEvent;
+import imbuy.lot.application.cache.UserCache;
 import imbuy.lot.application.dto.*;
 import imbuy.lot.application.mapper.LotMapper;
 import imbuy.lot.application.port.in.LotUseCase;
-import imbuy.lot.application.port.out.BidPort;
 import imbuy.lot.application.port.out.LotRepositoryPort;
-import imbuy.lot.application.port.out.UserPort;
 import imbuy.lot.domain.model.Lot;
 import imbuy.lot.domain.service.LotDomainService;
+import imbuy.lot.domain.enums.LotSort;
 import imbuy.lot.domain.enums.LotStatus;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class LotServiceImpl implements LotUseCase {
 
     private final LotRepositoryPort lotRepository;
-    private final UserPort userPort;
-    private final BidPort bidPort;
+    private final UserCache userCache;
     private final LotDomainService domainService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
-
+    private final TransactionTemplate transactionTemplate;
+    private final Executor lotTaskExecutor;
+
+    public LotServiceImpl(LotRepositoryPort lotRepository,
+                          UserCache userCache,
+                          LotDomainService domainService,
+                          KafkaTemplate<String, Object> kafkaTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Qualifier("lotTaskExecutor") Executor lotTaskExecutor) {
+        this.lotRepository = lotRepository;
+        this.userCache = userCache;
+        this.domainService = domainService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lotTaskExecutor = lotTaskExecutor;
+    }
 
     @Override
     public LotDto getLotById(Long id) {
@@ -40,9 +64,52 @@ public class LotServiceImpl implements LotUseCase {
     }
 
     @Override
-    public LotDto createLot(CreateLotDto dto, Long userId) {
-        userPort.getUserById(userId);
+    public LotPageDto searchLots(LotFilterDto filter, LotSort sort, String cursor, int size) {
+        if (sort == null) {
+            sort = filter.hasQuery() ? LotSort.RELEVANCE : LotSort.NEWEST;
+        } else if (sort == LotSort.RELEVANCE && !filter.hasQuery()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Relevance order requires a query");
+        }
+        LotCursor after = cursor == null || cursor.isBlank() ? null : LotCursor.decode(cursor);
+
+        // One extra row tells whether there is a next page
+        List<LotSearchHit> hits = lotRepository.search(filter, sort, after, size + 1);
+        boolean hasMore = hits.size() > size;
+        List<LotSearchHit> page = hasMore ? hits.subList(0, size) : hits;
+        String next = null;
+        if (hasMore) {
+            next = cursorAfter(page.get(page.size() - 1), sort).encode();
+        }
+
+        Map<Long, String> highlights = new LinkedHashMap<>();
+        for (LotSearchHit hit : page) {
+            if (hit.highlight() != null) {
+                highlights.put(hit.lot().getId(), hit.highlight());
+            }
+        }
+        return new LotPageDto(page.stream().map(hit -> LotMapper.toDto(hit.lot())).toList(), next, highlights);
+    }
+
+    private static LotCursor cursorAfter(LotSearchHit last, LotSort sort) {
+        String sortKey = switch (sort) {
+            case NEWEST -> last.lot().getCreatedAt().toString();
+            case ENDING_SOON -> last.lot().getEndDate().toString();
+            case RELEVANCE -> Float.toString(last.rank());
+        };
+        return new LotCursor(sortKey, last.lot().getId());
+    }
+
+    // The operations below wait for user-service without a transaction or a thread; the rest
+    // runs in its own transaction once the user is known
+
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CompletableFuture<LotDto> createLot(CreateLotDto dto, Long userId) {
+        return userCache.getAsync(userId)
+                .thenCompose(user -> inTransaction(() -> create(dto, userId)));
+    }
 
+    private LotDto create(CreateLotDto dto, Long userId) {
         domainService.validateBidStep(dto.bid_step());
         domainService.validateEndDate(dto.end_date());
 
@@ -60,24 +127,33 @@ public class LotServiceImpl implements LotUseCase {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        // Saved first: the event is keyed by the generated lot id
+        Lot saved = lotRepository.save(lot);
+
         LotCreatedEvent event = new LotCreatedEvent(
                 "lot-service",
-                lot.getId(),
-                lot.getTitle(),
-                lot.getOwnerId(),
-                lot.getStartPrice(),
-                lot.getEndDate()
+                saved.getId(),
+                saved.getTitle(),
+                saved.getOwnerId(),
+                saved.getStartPrice(),
+                saved.getEndDate(),
+                saved.getBidStep(),
+                saved.getStatus().name()
         );
 
-        kafkaTemplate.send(TopicNames.LOT_EVENTS, event);
+        kafkaTemplate.send(TopicNames.LOT_EVENTS, EventKeys.keyOf(event), event);
 
-        return LotMapper.toDto(lotRepository.save(lot));
+        return LotMapper.toDto(saved);
     }
 
     @Override
-    public LotDto approveLot(Long id, Long userId) {
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CompletableFuture<LotDto> approveLot(Long id, Long userId) {
+        return userCache.getAsync(userId)
+                .thenCompose(user -> inTransaction(() -> approve(id, user, userId)));
+    }
 
-        UserDto user = userPort.getUserById(userId);
+    private LotDto approve(Long id, UserDto user, Long userId) {
         if (user == null ||
                 (!"SUPERVISOR".equalsIgnoreCase(user.role())
                         && !"MODERATOR".equalsIgnoreCase(user.role()))) {
@@ -90,19 +166,39 @@ public class LotServiceImpl implements LotUseCase {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Owner cannot approve their own lot");
         }
 
-        Lot approved = domainService.approve(lot);
-        return LotMapper.toDto(lotRepository.save(approved));
+        Lot approved = lotRepository.save(domainService.approve(lot));
+        publishStatusChange(lot, approved);
+        return LotMapper.toDto(approved);
     }
 
 
     @Override
-    public LotDto cancelLot(Long id, Long userId, String reason) {
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CompletableFuture<LotDto> cancelLot(Long id, Long userId, String reason) {
+        return userCache.getAsync(userId)
+                .thenCompose(user -> inTransaction(() -> cancel(id, user, userId)));
+    }
 
+    /**
+     * Runs the operation in its own transaction on the lot task executor. When the executor's
+     * queue is full the request fails with 503 instead of waiting behind it.
+     */
+    private CompletableFuture<LotDto> inTransaction(Supplier<LotDto> operation) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> transactionTemplate.execute(status -> operation.get()), lotTaskExecutor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many lot operations in progress, please retry"
+            ));
+        }
+    }
+
+    private LotDto cancel(Long id, UserDto user, Long userId) {
         Lot lot = lotRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Lot not found"));
 
-        UserDto user = userPort.getUserById(userId);
-
         boolean isOwner = lot.getOwnerId().equals(userId);
         boolean isModerator = user != null && "MODERATOR".equalsIgnoreCase(user.role());
 
@@ -110,8 +206,9 @@ public class LotServiceImpl implements LotUseCase {
             throw new IllegalStateException("No permission to cancel lot");
         }
 
-        Lot cancelled = domainService.cancel(lot);
-        return LotMapper.toDto(lotRepository.save(cancelled));
+        Lot cancelled = lotRepository.save(domainService.cancel(lot));
+        publishStatusChange(lot, cancelled);
+        return LotMapper.toDto(cancelled);
     }
 
 
@@ -137,7 +234,20 @@ public class LotServiceImpl implements LotUseCase {
                 .categoryId(dto.category_id() != null ? dto.category_id() : lot.getCategoryId())
                 .build();
 
-        return LotMapper.toDto(lotRepository.save(updated));
+        Lot saved = lotRepository.save(updated);
+
+        // bid-service replicates the bid step and end date for bid validation
+        LotUpdatedEvent event = new LotUpdatedEvent(
+                "lot-service",
+                saved.getId(),
+                saved.getTitle(),
+                saved.getOwnerId(),
+                saved.getBidStep(),
+                saved.getEndDate()
+        );
+        kafkaTemplate.send(TopicNames.LOT_EVENTS, EventKeys.keyOf(event), event);
+
+        return LotMapper.toDto(saved);
     }
 
 
@@ -158,4 +268,14 @@ public class LotServiceImpl implements LotUseCase {
         lotRepository.delete(lot);
     }
 
+    private void publishStatusChange(Lot before, Lot after) {
+        LotStatusChangedEvent event = new LotStatusChangedEvent(
+                "lot-service",
+                after.getId(),
+                before.getStatus().name(),
+                after.getStatus().name(),
+                after.getWinnerId()
+        );
+        kafkaTemplate.send(TopicNames.LOT_EVENTS, EventKeys.keyOf(event), event);
+    }
 }
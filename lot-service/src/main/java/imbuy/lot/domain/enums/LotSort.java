@@ -0,0 +1,16 @@
+package imbuy.lot.domain.enums;
+
+public enum LotSort {
+    /**
+     * Newest lots first.
+     */
+    NEWEST,
+    /**
+     * Lots closest to their end date first; lots without an end date are left out.
+     */
+    ENDING_SOON,
+    /**
+     * Best matches of the text query first; only valid together with a query.
+     */
+    RELEVANCE
+}
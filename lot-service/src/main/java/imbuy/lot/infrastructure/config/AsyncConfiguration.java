@@ -0,0 +1,28 @@
+package imbuy.lot.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfiguration {
+
+    /**
+     * Finishes lot operations once the user-service reply they waited for has arrived, so the
+     * database work runs neither on a request thread nor on the Kafka listener thread that
+     * received the reply. Each task holds a database connection, hence the size of the pool.
+     * At most {@code app.lot.async.queue-capacity} operations wait for a thread; further ones
+     * are rejected with {@code TaskRejectedException}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor lotTaskExecutor(@Value("${app.lot.async.pool-size:10}") int poolSize,
+                                                  @Value("${app.lot.async.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lot-async-");
+        return executor;
+    }
+}
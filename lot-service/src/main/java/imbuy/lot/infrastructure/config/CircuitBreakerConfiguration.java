@@ -1,64 +1,39 @@
 package imbuy.lot.infrastructure.config;
 
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
-import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
-import org.springframework.cloud.client.circuitbreaker.Customizer;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 
 import java.time.Duration;
 
+/**
+ * Circuit breakers of the Kafka request/reply calls. The adapters wrap the pending reply
+ * future in them, so a call holds no thread while it waits; each adapter applies its own
+ * reply timeout.
+ */
 @Configuration
 public class CircuitBreakerConfiguration {
 
     @Bean
-    public Customizer<Resilience4JCircuitBreakerFactory> defaultCustomizer() {
-        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
-                .circuitBreakerConfig(CircuitBreakerConfig.custom()
-                        .failureRateThreshold(50)
-                        .waitDurationInOpenState(Duration.ofSeconds(30))
-                        .slidingWindowSize(10)
-                        .minimumNumberOfCalls(5)
-                        .permittedNumberOfCallsInHalfOpenState(3)
-                        .slowCallRateThreshold(50)
-                        .slowCallDurationThreshold(Duration.ofSeconds(5))
-                        .build())
-                .timeLimiterConfig(TimeLimiterConfig.custom()
-                        .timeoutDuration(Duration.ofSeconds(4))
-                        .build())
+    public CircuitBreaker userServiceCircuitBreaker(Resilience4JCircuitBreakerFactory factory) {
+        return factory.getCircuitBreakerRegistry().circuitBreaker("user-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(60)
+                .waitDurationInOpenState(Duration.ofSeconds(60))
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
                 .build());
     }
 
     @Bean
-    public Customizer<Resilience4JCircuitBreakerFactory> userServiceCustomizer() {
-        return factory -> factory.configure(builder -> builder
-                .circuitBreakerConfig(CircuitBreakerConfig.custom()
-                        .failureRateThreshold(60)
-                        .waitDurationInOpenState(Duration.ofSeconds(60))
-                        .slidingWindowSize(20)
-                        .minimumNumberOfCalls(10)
-                        .build())
-                .timeLimiterConfig(TimeLimiterConfig.custom()
-                        .timeoutDuration(Duration.ofSeconds(3))
-                        .build())
-                .build(), "user-service");
-    }
-
-    @Bean
-    public Customizer<Resilience4JCircuitBreakerFactory> bidServiceCustomizer() {
-        return factory -> factory.configure(builder -> builder
-                .circuitBreakerConfig(CircuitBreakerConfig.custom()
-                        .failureRateThreshold(70)
-                        .waitDurationInOpenState(Duration.ofSeconds(45))
-                        .slidingWindowSize(15)
-                        .minimumNumberOfCalls(8)
-                        .build())
-                .timeLimiterConfig(TimeLimiterConfig.custom()
-                        .timeoutDuration(Duration.ofSeconds(5))
-                        .build())
-                .build(), "bid-service");
+    public CircuitBreaker bidServiceCircuitBreaker(Resilience4JCircuitBreakerFactory factory) {
+        return factory.getCircuitBreakerRegistry().circuitBreaker("bid-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(70)
+                .waitDurationInOpenState(Duration.ofSeconds(45))
+                .slidingWindowSize(15)
+                .minimumNumberOfCalls(8)
+                .build());
     }
-}
\ No newline at end of file
+}
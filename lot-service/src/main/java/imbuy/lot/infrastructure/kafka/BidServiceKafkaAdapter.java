@@ -4,17 +4,18 @@ import com.imbuy.events.TopicNames;
 import com.imbuy.events.bid.BidWinnerRequestEvent;
 import com.imbuy.events.bid.BidWinnerResponseEvent;
 import imbuy.lot.application.port.out.BidPort;
-import lombok.RequiredArgsConstructor;
+import imbuy.lot.application.util.Futures;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
-import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -23,79 +24,99 @@ import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class BidServiceKafkaAdapter implements BidPort {
 
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final CircuitBreakerFactory circuitBreakerFactory;
-    private final Map<String, CompletableFuture<Long>> pendingRequests = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final ReplyTopic replyTopic;
+    private final Map<String, CompletableFuture<BidWinnerResponseEvent>> pendingRequests = new ConcurrentHashMap<>();
+
+    public BidServiceKafkaAdapter(KafkaTemplate<String, Object> kafkaTemplate,
+                                  CircuitBreaker bidServiceCircuitBreaker,
+                                  ReplyTopic replyTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.circuitBreaker = bidServiceCircuitBreaker;
+        this.replyTopic = replyTopic;
+    }
 
     @Override
     public Long getAuctionWinner(Long lotId) {
-        CircuitBreaker circuitBreaker = circuitBreakerFactory.create("bid-service");
-
-        return circuitBreaker.run(
-                () -> {
-                    String requestId = UUID.randomUUID().toString();
-                    CompletableFuture<Long> future = new CompletableFuture<>();
-                    pendingRequests.put(requestId, future);
-
-                    try {
-                        BidWinnerRequestEvent request = new BidWinnerRequestEvent(
-                                "lot-service",
-                                lotId,
-                                requestId
-                        );
+        String requestId = UUID.randomUUID().toString();
+        return Futures.await(request(new BidWinnerRequestEvent("lot-service", lotId, requestId))).getWinnerId();
+    }
 
-                        log.info("Sending bid winner request via Kafka: requestId={}, lotId={}", requestId, lotId);
-                        kafkaTemplate.send(TopicNames.BID_REQUESTS, request);
+    @Override
+    public Map<Long, Long> getAuctionWinners(Collection<Long> lotIds) {
+        if (lotIds.isEmpty()) {
+            return Map.of();
+        }
+        String requestId = UUID.randomUUID().toString();
+        Map<Long, Long> winners = Futures.await(
+                request(new BidWinnerRequestEvent("lot-service", List.copyOf(lotIds), requestId))).getWinners();
+        return winners != null ? winners : Map.of();
+    }
 
-                        Long result = future.get(5, TimeUnit.SECONDS);
-                        return result;
-                    } catch (Exception e) {
-                        log.error("Error getting auction winner via Kafka: {}", e.getMessage(), e);
-                        pendingRequests.remove(requestId);
+    private CompletableFuture<BidWinnerResponseEvent> request(BidWinnerRequestEvent request) {
+        return circuitBreaker.executeCompletionStage(() -> send(request))
+                .toCompletableFuture()
+                .exceptionally(error -> {
+                    Throwable cause = Futures.unwrap(error);
+                    if (cause instanceof CallNotPermittedException) {
+                        log.error("Circuit breaker opened for bid service: {}", cause.getMessage());
                         throw new ResponseStatusException(
                                 HttpStatus.SERVICE_UNAVAILABLE,
-                                "Bid service is unavailable",
-                                e
+                                "Bid service is temporarily unavailable. Please try again later."
                         );
-                    } finally {
-                        pendingRequests.remove(requestId);
                     }
-                },
-                throwable -> {
-                    log.error("Circuit breaker opened for bid service: {}", throwable.getMessage());
+                    log.error("Error getting auction winner via Kafka: {}", cause.getMessage(), cause);
                     throw new ResponseStatusException(
                             HttpStatus.SERVICE_UNAVAILABLE,
-                            "Bid service is temporarily unavailable. Please try again later."
+                            "Bid service is unavailable",
+                            cause
                     );
-                }
-        );
+                });
     }
 
-    @KafkaListener(topics = TopicNames.BID_RESPONSES, groupId = "lot-service")
-    public void handleBidWinnerResponse(BidWinnerResponseEvent response, Acknowledgment acknowledgment) {
-        try {
-            log.info("Received bid winner response: requestId={}, success={}, winnerId={}",
-                    response.getRequestId(), response.getSuccess(), response.getWinnerId());
+    private CompletableFuture<BidWinnerResponseEvent> send(BidWinnerRequestEvent request) {
+        String requestId = request.getRequestId();
+        CompletableFuture<BidWinnerResponseEvent> future = new CompletableFuture<>();
+        pendingRequests.put(requestId, future);
 
-            CompletableFuture<Long> future = pendingRequests.remove(response.getRequestId());
-            if (future != null) {
-                if (Boolean.TRUE.equals(response.getSuccess())) {
-                    future.complete(response.getWinnerId());
-                } else {
-                    future.completeExceptionally(
-                            new RuntimeException(response.getErrorMessage() != null ?
-                                    response.getErrorMessage() : "Failed to get winner")
-                    );
-                }
+        log.info("Sending bid winner request via Kafka: requestId={}, lotId={}, lots={}",
+                requestId, request.getLotId(),
+                request.getLotIds() != null ? request.getLotIds().size() : 1);
+        kafkaTemplate.send(replyTopic.request(TopicNames.BID_REQUESTS, request))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    }
+                });
+
+        return future.orTimeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> pendingRequests.remove(requestId));
+    }
+
+    /**
+     * Completes the pending request the response belongs to; called by {@link ReplyListener}.
+     */
+    public void handleBidWinnerResponse(BidWinnerResponseEvent response) {
+        log.info("Received bid winner response: requestId={}, success={}, winnerId={}",
+                response.getRequestId(), response.getSuccess(), response.getWinnerId());
+
+        CompletableFuture<BidWinnerResponseEvent> future = pendingRequests.remove(response.getRequestId());
+        if (future != null) {
+            if (Boolean.TRUE.equals(response.getSuccess())) {
+                future.complete(response);
             } else {
-                log.warn("No pending request found for requestId: {}", response.getRequestId());
+                future.completeExceptionally(
+                        new RuntimeException(response.getErrorMessage() != null ?
+                                response.getErrorMessage() : "Failed to get winner")
+                );
             }
-            acknowledgment.acknowledge();
-        } catch (Exception e) {
-            log.error("Error handling bid winner response: {}", e.getMessage(), e);
+        } else {
+            log.warn("No pending request found for requestId: {}", response.getRequestId());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package imbuy.lot.infrastructure.kafka;
+
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.ReplyTopics;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.lot.LotRulesRequestEvent;
+import com.imbuy.events.lot.LotRulesResponseEvent;
+import imbuy.lot.application.port.out.LotRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers bid-service's requests for the bidding rules of a lot it has not cached yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LotRequestHandler {
+
+    private final LotRepositoryPort lotRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @KafkaListener(topics = TopicNames.LOT_REQUESTS, groupId = "lot-service")
+    public void handleLotRulesRequest(@Payload LotRulesRequestEvent request,
+                                      @Header(name = ReplyTopics.HEADER, required = false) byte[] replyHeader,
+                                      Acknowledgment acknowledgment) {
+        log.info("Received lot rules request: requestId={}, lotId={}", request.getRequestId(), request.getLotId());
+
+        LotRulesResponseEvent response;
+        try {
+            response = lotRepository.findById(request.getLotId())
+                    .map(lot -> new LotRulesResponseEvent(
+                            "lot-service",
+                            request.getRequestId(),
+                            lot.getId(),
+                            lot.getStartPrice(),
+                            lot.getBidStep(),
+                            lot.getEndDate(),
+                            lot.getStatus().name(),
+                            true,
+                            null
+                    ))
+                    .orElseGet(() -> failure(request, "Lot not found"));
+        } catch (Exception e) {
+            log.error("Error processing lot rules request: {}", e.getMessage(), e);
+            response = failure(request, e.getMessage());
+        }
+
+        // Back to the requesting bid-service instance, or to the shared topic for older ones
+        kafkaTemplate.send(ReplyTopics.replyTopic(replyHeader, TopicNames.LOT_RESPONSES), EventKeys.keyOf(response), response);
+        acknowledgment.acknowledge();
+    }
+
+    private static LotRulesResponseEvent failure(LotRulesRequestEvent request, String errorMessage) {
+        return new LotRulesResponseEvent(
+                "lot-service",
+                request.getRequestId(),
+                request.getLotId(),
+                null,
+                null,
+                null,
+                null,
+                false,
+                errorMessage
+        );
+    }
+}
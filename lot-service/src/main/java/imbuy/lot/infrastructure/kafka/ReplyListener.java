@@ -0,0 +1,47 @@
+package imbuy.lot.infrastructure.kafka;
+
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.bid.BidWinnerResponseEvent;
+import com.imbuy.events.user.UserResponseEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands the responses sent to this instance's {@link ReplyTopic} to the adapter waiting for them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplyListener {
+
+    private final UserServiceKafkaAdapter userService;
+    private final BidServiceKafkaAdapter bidService;
+
+    // The single partition is assigned directly, so replies flow as soon as the instance is up
+    // instead of after a consumer group rebalance
+    @KafkaListener(
+            id = "lot-service-replies",
+            groupId = "#{@replyTopic.name()}",
+            topicPartitions = @TopicPartition(topic = "#{@replyTopic.name()}", partitions = "0"),
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleReply(@Payload BaseEvent reply, Acknowledgment acknowledgment) {
+        try {
+            if (reply instanceof UserResponseEvent response) {
+                userService.handleUserResponse(response);
+            } else if (reply instanceof BidWinnerResponseEvent response) {
+                bidService.handleBidWinnerResponse(response);
+            } else {
+                log.warn("Skipping unexpected reply: {}", reply.getClass().getSimpleName());
+            }
+        } catch (Exception e) {
+            log.error("Error handling reply: {}", e.getMessage(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
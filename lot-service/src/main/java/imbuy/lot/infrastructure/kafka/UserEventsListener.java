@@ -0,0 +1,39 @@
+package imbuy.lot.infrastructure.kafka;
+
+import com.imbuy.events.BaseEvent;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.user.UserUpdatedEvent;
+import imbuy.lot.application.cache.UserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventsListener {
+
+    private final UserCache userCache;
+
+    // Every instance keeps its own cache, so each one needs its own consumer group; it is named
+    // after the instance so that a restart rejoins it instead of leaving an orphaned group behind
+    @KafkaListener(
+            topics = TopicNames.USER_EVENTS,
+            groupId = "lot-service-users.${app.lot.replies.instance-id:${HOSTNAME:${random.uuid}}}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void handleUserEvent(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        try {
+            if (event instanceof UserUpdatedEvent updated) {
+                log.debug("User {} was updated, dropping cached copy", updated.getUserId());
+                userCache.invalidate(updated.getUserId());
+            }
+        } catch (Exception e) {
+            log.error("Error processing user event: {}", e.getMessage(), e);
+        }
+        acknowledgment.acknowledge();
+    }
+}
@@ -5,17 +5,16 @@ import com.imbuy.events.user.UserRequestEvent;
 import com.imbuy.events.user.UserResponseEvent;
 import imbuy.lot.application.dto.UserDto;
 import imbuy.lot.application.port.out.UserPort;
-import lombok.RequiredArgsConstructor;
+import imbuy.lot.application.util.Futures;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
-import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -24,86 +23,99 @@ import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class UserServiceKafkaAdapter implements UserPort {
 
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final CircuitBreakerFactory circuitBreakerFactory;
+    private final CircuitBreaker circuitBreaker;
+    private final ReplyTopic replyTopic;
     private final Map<String, CompletableFuture<UserDto>> pendingRequests = new ConcurrentHashMap<>();
 
+    public UserServiceKafkaAdapter(KafkaTemplate<String, Object> kafkaTemplate,
+                                   CircuitBreaker userServiceCircuitBreaker,
+                                   ReplyTopic replyTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.circuitBreaker = userServiceCircuitBreaker;
+        this.replyTopic = replyTopic;
+    }
+
     @Override
     public UserDto getUserById(Long userId) {
-        CircuitBreaker circuitBreaker = circuitBreakerFactory.create("user-service");
-
-        return circuitBreaker.run(
-                () -> {
-                    String requestId = UUID.randomUUID().toString();
-                    CompletableFuture<UserDto> future = new CompletableFuture<>();
-                    pendingRequests.put(requestId, future);
-
-                    try {
-                        UserRequestEvent request = new UserRequestEvent(
-                                "lot-service",
-                                userId,
-                                requestId,
-                                "GET_USER_BY_ID"
-                        );
-
-                        log.info("Sending user request via Kafka: requestId={}, userId={}", requestId, userId);
-                        kafkaTemplate.send(TopicNames.USER_REQUESTS, request);
+        return Futures.await(getUserByIdAsync(userId));
+    }
 
-                        UserDto result = future.get(5, TimeUnit.SECONDS);
-                        return result;
-                    } catch (Exception e) {
-                        log.error("Error getting user via Kafka: {}", e.getMessage(), e);
-                        pendingRequests.remove(requestId);
+    @Override
+    public CompletableFuture<UserDto> getUserByIdAsync(Long userId) {
+        return circuitBreaker.executeCompletionStage(() -> request(userId))
+                .toCompletableFuture()
+                .exceptionally(error -> {
+                    Throwable cause = Futures.unwrap(error);
+                    if (cause instanceof CallNotPermittedException) {
+                        log.error("Circuit breaker opened for user service: {}", cause.getMessage());
                         throw new ResponseStatusException(
                                 HttpStatus.SERVICE_UNAVAILABLE,
-                                "User service is unavailable",
-                                e
+                                "User service is temporarily unavailable. Please try again later."
                         );
-                    } finally {
-                        pendingRequests.remove(requestId);
                     }
-                },
-                throwable -> {
-                    log.error("Circuit breaker opened for user service: {}", throwable.getMessage());
+                    log.error("Error getting user via Kafka: {}", cause.getMessage(), cause);
                     throw new ResponseStatusException(
                             HttpStatus.SERVICE_UNAVAILABLE,
-                            "User service is temporarily unavailable. Please try again later."
+                            "User service is unavailable",
+                            cause
                     );
-                }
+                });
+    }
+
+    private CompletableFuture<UserDto> request(Long userId) {
+        String requestId = UUID.randomUUID().toString();
+        CompletableFuture<UserDto> future = new CompletableFuture<>();
+        pendingRequests.put(requestId, future);
+
+        UserRequestEvent request = new UserRequestEvent(
+                "lot-service",
+                userId,
+                requestId,
+                "GET_USER_BY_ID"
         );
+
+        log.info("Sending user request via Kafka: requestId={}, userId={}", requestId, userId);
+        kafkaTemplate.send(replyTopic.request(TopicNames.USER_REQUESTS, request))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    }
+                });
+
+        return future.orTimeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((user, error) -> pendingRequests.remove(requestId));
     }
 
-    @KafkaListener(topics = TopicNames.USER_RESPONSES, groupId = "lot-service")
-    public void handleUserResponse(UserResponseEvent response, Acknowledgment acknowledgment) {
-        try {
-            log.info("Received user response: requestId={}, success={}",
-                    response.getRequestId(), response.getSuccess());
+    /**
+     * Completes the pending request the response belongs to; called by {@link ReplyListener}.
+     */
+    public void handleUserResponse(UserResponseEvent response) {
+        log.info("Received user response: requestId={}, success={}",
+                response.getRequestId(), response.getSuccess());
 
-            CompletableFuture<UserDto> future = pendingRequests.remove(response.getRequestId());
-            if (future != null) {
-                if (Boolean.TRUE.equals(response.getSuccess())) {
-                    UserDto userDto = new UserDto(
-                            response.getUserId(),
-                            response.getUsername(),
-                            response.getEmail(),
-                            response.getRole()
-                    );
-                    future.complete(userDto);
-                } else {
-                    future.completeExceptionally(
-                            new RuntimeException(response.getErrorMessage() != null ?
-                                    response.getErrorMessage() : "User not found")
-                    );
-                }
+        CompletableFuture<UserDto> future = pendingRequests.remove(response.getRequestId());
+        if (future != null) {
+            if (Boolean.TRUE.equals(response.getSuccess())) {
+                UserDto userDto = new UserDto(
+                        response.getUserId(),
+                        response.getUsername(),
+                        response.getEmail(),
+                        response.getRole()
+                );
+                future.complete(userDto);
             } else {
-                log.warn("No pending request found for requestId: {}", response.getRequestId());
+                future.completeExceptionally(
+                        new RuntimeException(response.getErrorMessage() != null ?
+                                response.getErrorMessage() : "User not found")
+                );
             }
-            acknowledgment.acknowledge();
-        } catch (Exception e) {
-            log.error("Error handling user response: {}", e.getMessage(), e);
+        } else {
+            log.warn("No pending request found for requestId: {}", response.getRequestId());
         }
     }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package imbuy.lot.infrastructure.persistence.adapter;
 
+import imbuy.lot.application.dto.LotCursor;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.application.dto.LotSearchHit;
 import imbuy.lot.application.port.out.LotRepositoryPort;
 import imbuy.lot.domain.model.Lot;
+import imbuy.lot.domain.enums.LotSort;
 import imbuy.lot.domain.enums.LotStatus;
 import imbuy.lot.infrastructure.persistence.entity.LotEntity;
 import imbuy.lot.infrastructure.persistence.mapper.LotPersistenceMapper;
 import imbuy.lot.infrastructure.persistence.repository.LotJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,6 +29,7 @@ import java.util.stream.Collectors;
 public class LotRepositoryAdapter implements LotRepositoryPort {
 
     private final LotJpaRepository repository;
+    private final EntityManager entityManager;
 
     @Override
     public Lot save(Lot lot) {
@@ -43,6 +52,28 @@ public class LotRepositoryAdapter implements LotRepositoryPort {
                 .toList();
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LotSearchHit> search(LotFilterDto filter, LotSort sort, LotCursor after, int limit) {
+        LotSearchQuery search = LotSearchQuery.of(filter, sort, after, limit, LocalDateTime.now());
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(search.sql())
+                .unwrap(NativeQuery.class)
+                .addEntity("lot", LotEntity.class)
+                .addScalar("rank", StandardBasicTypes.FLOAT)
+                .addScalar("highlight", StandardBasicTypes.STRING);
+        List<Object> parameters = search.parameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query.getResultList()
+                .stream()
+                .map(row -> new LotSearchHit(
+                        LotPersistenceMapper.toDomain((LotEntity) row[0]),
+                        (Float) row[1],
+                        (String) row[2]))
+                .toList();
+    }
+
     @Override
     public void delete(Lot lot) {
         repository.deleteById(lot.getId());
@@ -0,0 +1,169 @@
+package imbuy.lot.infrastructure.persistence.adapter;
+
+import imbuy.lot.application.dto.LotCursor;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.domain.enums.LotSort;
+import imbuy.lot.domain.enums.LotStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SQL for one page of a lot listing, with only the conditions the filter sets.
+ * <p>
+ * Pages continue after the cursor with a row comparison on {@code (sort column, id)}, so the
+ * query reads the next rows of a composite index such as {@code (status, category_id, end_date, id)}
+ * instead of skipping an offset. See {@code V3__add_lot_search_indexes.sql}.
+ * <p>
+ * A text query is matched against {@code search_vector} through its GIN index
+ * ({@code V4__add_lot_search_vector.sql}) and ranked with {@code ts_rank}. Highlights are built
+ * in an outer query, only for the rows of the page. Every row has {@code rank} and
+ * {@code highlight} columns, null without a text query.
+ */
+public final class LotSearchQuery {
+
+    private static final String STEMMED = "to_tsquery('russian', ?)";
+    private static final String UNSTEMMED = "to_tsquery('simple', ?)";
+    private static final String HIGHLIGHT_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5";
+    // Shorter prefixes match too many words to be ranked quickly
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_TERMS = 8;
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    private LotSearchQuery(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    public static LotSearchQuery of(LotFilterDto filter, LotSort sort, LotCursor after, int limit, LocalDateTime now) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        TextQuery text = filter.hasQuery() ? TextQuery.of(filter.query()) : null;
+
+        if (text != null) {
+            conditions.add("search_vector @@ " + text.sql());
+            parameters.addAll(text.parameters());
+        }
+        if (filter.status() != null) {
+            conditions.add("status = ?");
+            parameters.add(filter.status().name());
+        }
+        if (Boolean.TRUE.equals(filter.active_only())) {
+            conditions.add("status = ?");
+            parameters.add(LotStatus.ACTIVE.name());
+            conditions.add("end_date > ?");
+            parameters.add(now);
+        }
+        if (filter.category_id() != null) {
+            conditions.add("category_id = ?");
+            parameters.add(filter.category_id());
+        }
+        if (filter.owner_id() != null) {
+            conditions.add("owner_id = ?");
+            parameters.add(filter.owner_id());
+        }
+        if (filter.title() != null && !filter.title().isBlank()) {
+            conditions.add("title ILIKE ?");
+            parameters.add("%" + escapeLike(filter.title().trim()) + "%");
+        }
+
+        String column;
+        String direction;
+        switch (sort) {
+            case ENDING_SOON -> {
+                column = "end_date";
+                direction = "ASC";
+                conditions.add("end_date IS NOT NULL");
+            }
+            case RELEVANCE -> {
+                column = "rank";
+                direction = "DESC";
+            }
+            default -> {
+                column = "created_at";
+                direction = "DESC";
+            }
+        }
+        if (after != null) {
+            String operator = direction.equals("ASC") ? ">" : "<";
+            if (sort == LotSort.RELEVANCE) {
+                // WHERE cannot refer to the rank alias
+                conditions.add("(ts_rank(search_vector, " + text.sql() + "), id) " + operator + " (?, ?)");
+                parameters.addAll(text.parameters());
+                parameters.add(after.rankKey());
+            } else {
+                conditions.add("(" + column + ", id) " + operator + " (?, ?)");
+                parameters.add(after.dateKey());
+            }
+            parameters.add(after.id());
+        }
+
+        String order = " ORDER BY " + column + " " + direction + ", id " + direction;
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        if (text == null) {
+            parameters.add(limit);
+            String sql = "SELECT lots.*, CAST(NULL AS real) AS rank, CAST(NULL AS text) AS highlight FROM lots"
+                    + where + order + " LIMIT ?";
+            return new LotSearchQuery(sql, List.copyOf(parameters));
+        }
+
+        List<Object> textParameters = new ArrayList<>();
+        textParameters.addAll(text.parameters());
+        textParameters.addAll(text.parameters());
+        textParameters.addAll(parameters);
+        textParameters.add(limit);
+        String sql = "SELECT page.*, ts_headline('russian', page.title || ' ' || coalesce(page.description, ''), "
+                + text.sql() + ", '" + HIGHLIGHT_OPTIONS + "') AS highlight"
+                + " FROM (SELECT lots.*, ts_rank(search_vector, " + text.sql() + ") AS rank FROM lots"
+                + where + order + " LIMIT ?) page"
+                + order;
+        return new LotSearchQuery(sql, List.copyOf(textParameters));
+    }
+
+    /**
+     * SQL with one JDBC-style {@code ?} per parameter.
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Parameters in the order of their placeholders.
+     */
+    public List<Object> parameters() {
+        return parameters;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * All words of the query have to match; the last one may be incomplete, as it is while the
+     * buyer is typing. It matches either as a word, in any form, or as the start of a word as
+     * written: the stem of an incomplete word is not a prefix of the stem of the whole word.
+     * Only letters and digits are kept, so the input cannot inject tsquery operators.
+     */
+    private record TextQuery(String sql, List<Object> parameters) {
+
+        static TextQuery of(String query) {
+            List<String> terms = Arrays.stream(query.split("[^\\p{L}\\p{N}]+"))
+                    .filter(term -> !term.isEmpty())
+                    .limit(MAX_TERMS)
+                    .toList();
+            String last = terms.get(terms.size() - 1);
+            String lastPrefix = last.length() >= MIN_PREFIX_LENGTH ? last + ":*" : last;
+            String lastSql = "(" + STEMMED + " || " + UNSTEMMED + ")";
+            if (terms.size() == 1) {
+                return new TextQuery(lastSql, List.of(last, lastPrefix));
+            }
+            String others = String.join(" & ", terms.subList(0, terms.size() - 1));
+            return new TextQuery("(" + STEMMED + " && " + lastSql + ")", List.of(others, last, lastPrefix));
+        }
+    }
+}
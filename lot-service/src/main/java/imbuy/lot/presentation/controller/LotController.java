@@ -2,8 +2,12 @@ package imbuy.lot.presentation.controller;
 
 import imbuy.lot.application.dto.CreateLotDto;
 import imbuy.lot.application.dto.LotDto;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.application.dto.LotPageDto;
 import imbuy.lot.application.dto.UpdateLotDto;
 import imbuy.lot.application.port.in.LotUseCase;
+import imbuy.lot.domain.enums.LotSort;
+import imbuy.lot.domain.enums.LotStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +19,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/lots")
@@ -24,6 +29,23 @@ public class LotController {
 
     private final LotUseCase lotService;
 
+    @GetMapping
+    @Operation(summary = "Search lots using a continuation cursor; q is a full-text query over title and description")
+    public ResponseEntity<LotPageDto> searchLots(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) LotStatus status,
+            @RequestParam(name = "category_id", required = false) Long categoryId,
+            @RequestParam(name = "owner_id", required = false) Long ownerId,
+            @RequestParam(name = "active_only", required = false) Boolean activeOnly,
+            @RequestParam(required = false) LotSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        LotFilterDto filter = new LotFilterDto(title, status, categoryId, ownerId, activeOnly, q);
+        return ResponseEntity.ok(lotService.searchLots(filter, sort, cursor, Math.max(1, Math.min(size, 100))));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get lot by ID")
     public ResponseEntity<LotDto> getLotById(@PathVariable Long id) {
@@ -33,28 +55,28 @@ public class LotController {
 
     @PostMapping
     @Operation(summary = "Create a new lot", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<LotDto> createLot(@Valid @RequestBody CreateLotDto createLotDto, Authentication authentication) {
+    public CompletableFuture<ResponseEntity<LotDto>> createLot(@Valid @RequestBody CreateLotDto createLotDto,
+                                                               Authentication authentication) {
         Long userId = getUserIdFromAuthentication(authentication);
-        LotDto lot = lotService.createLot(createLotDto, userId);
-        return new ResponseEntity<>(lot, HttpStatus.CREATED);
+        // Answered asynchronously: the request thread is released while user-service is asked
+        return lotService.createLot(createLotDto, userId)
+                .thenApply(lot -> new ResponseEntity<>(lot, HttpStatus.CREATED));
     }
 
     @PutMapping("/{id}/approve")
     @Operation(summary = "Approve lot", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<LotDto> approveLot(@PathVariable Long id, Authentication authentication) {
+    public CompletableFuture<ResponseEntity<LotDto>> approveLot(@PathVariable Long id, Authentication authentication) {
         Long userId = getUserIdFromAuthentication(authentication);
-        LotDto approvedLot = lotService.approveLot(id, userId);
-        return ResponseEntity.ok(approvedLot);
+        return lotService.approveLot(id, userId).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/{id}/cancel")
     @Operation(summary = "Cancel lot", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<LotDto> cancelLot(@PathVariable Long id,
-                                            @RequestParam(required = false) String reason,
-                                            Authentication authentication) {
+    public CompletableFuture<ResponseEntity<LotDto>> cancelLot(@PathVariable Long id,
+                                                               @RequestParam(required = false) String reason,
+                                                               Authentication authentication) {
         Long userId = getUserIdFromAuthentication(authentication);
-        LotDto cancelledLot = lotService.cancelLot(id, userId, reason);
-        return ResponseEntity.ok(cancelledLot);
+        return lotService.cancelLot(id, userId, reason).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/{id}")
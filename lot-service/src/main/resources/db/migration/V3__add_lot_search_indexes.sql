@@ -0,0 +1,21 @@
+-- Составные индексы для листинга лотов (GET /lots).
+-- Порядок колонок: сначала фильтры по равенству, затем колонка сортировки и id,
+-- чтобы страница по курсору читалась как диапазон индекса без сортировки.
+
+-- Каталог: статус + категория, сортировка по дате окончания или по новизне
+CREATE INDEX idx_lots_status_category_end_date ON lots(status, category_id, end_date, id);
+CREATE INDEX idx_lots_status_category_created_at ON lots(status, category_id, created_at, id);
+
+-- Статус без категории
+CREATE INDEX idx_lots_status_end_date ON lots(status, end_date, id);
+CREATE INDEX idx_lots_status_created_at ON lots(status, created_at, id);
+
+-- Весь каталог без фильтров, новые первыми
+CREATE INDEX idx_lots_created_at ON lots(created_at, id);
+
+-- Лоты пользователя, новые первыми
+CREATE INDEX idx_lots_owner_created_at ON lots(owner_id, created_at, id);
+
+-- Покрываются префиксами новых индексов
+DROP INDEX idx_lots_status;
+DROP INDEX idx_lots_owner_id;
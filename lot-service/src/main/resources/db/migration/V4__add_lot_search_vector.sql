@@ -0,0 +1,16 @@
+-- Полнотекстовый поиск по названию и описанию лота.
+-- Название весит больше описания (A против B) при ранжировании.
+-- Слова хранятся дважды: по основе ('russian') для поиска словоформ и как есть ('simple')
+-- для поиска по началу слова, которое пользователь ещё не дописал: основа неполного слова
+-- не совпадает с основой полного.
+-- Колонка вычисляемая: заполняется для существующих строк и обновляется при записи,
+-- приложение её не пишет. ADD COLUMN ... STORED переписывает таблицу.
+ALTER TABLE lots ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(description, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_lots_search_vector ON lots USING GIN (search_vector);
@@ -0,0 +1,283 @@
+package imbuy.lot;
+
+import imbuy.lot.application.cache.UserCache;
+import imbuy.lot.application.dto.LotDto;
+import imbuy.lot.application.dto.UserDto;
+import imbuy.lot.application.port.in.LotUseCase;
+import imbuy.lot.application.port.out.LotRepositoryPort;
+import imbuy.lot.application.port.out.UserPort;
+import imbuy.lot.application.service.LotServiceImpl;
+import imbuy.lot.domain.enums.LotStatus;
+import imbuy.lot.domain.model.Lot;
+import imbuy.lot.domain.service.LotDomainService;
+import imbuy.lot.presentation.controller.LotController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Approves lots over HTTP while every user lookup takes {@link #USER_SERVICE_LATENCY}, as a
+ * Kafka round trip to user-service does, on a Tomcat limited to {@link #TOMCAT_THREADS}
+ * threads. The same requests go once through an endpoint that waits for the lookup on the
+ * request thread, as lot-service used to, and once through {@code PUT /lots/{id}/approve},
+ * which is answered asynchronously. Reports how many requests were waiting for user-service at
+ * the same time, and the throughput and latency that follow from it.
+ */
+@Tag("benchmark")
+class AsyncLotRequestsLoadTest {
+
+    private static final int TOMCAT_THREADS = 20;
+    private static final int REQUESTS = 400;
+    private static final Duration USER_SERVICE_LATENCY = Duration.ofMillis(250);
+
+    private static final ScheduledExecutorService userService = Executors.newScheduledThreadPool(2);
+    private static final AtomicInteger waiting = new AtomicInteger();
+    private static final AtomicInteger maxWaiting = new AtomicInteger();
+
+    private static AnnotationConfigServletWebServerApplicationContext context;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() {
+        context = new AnnotationConfigServletWebServerApplicationContext(LoadTestApplication.class);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+    }
+
+    @AfterAll
+    static void stop() {
+        context.close();
+        userService.shutdownNow();
+    }
+
+    @Test
+    void asyncEndpoint_shouldKeepManyMoreRequestsInFlightThanTomcatHasThreads() throws Exception {
+        Result blocking = run("/blocking/lots/%d/approve", 1);
+        Result async = run("/lots/%d/approve", 1 + REQUESTS);
+
+        System.out.printf("%d requests, %d Tomcat threads, user-service answers after %d ms%n",
+                REQUESTS, TOMCAT_THREADS, USER_SERVICE_LATENCY.toMillis());
+        System.out.println("blocking: " + blocking);
+        System.out.println("async:    " + async);
+
+        assertThat(blocking.maxWaiting()).isLessThanOrEqualTo(TOMCAT_THREADS);
+        assertThat(async.maxWaiting()).isGreaterThan(TOMCAT_THREADS * 5);
+        assertThat(async.millis()).isLessThan(blocking.millis() / 3);
+    }
+
+    private static Result run(String path, long firstUserId) throws Exception {
+        int port = context.getWebServer().getPort();
+        maxWaiting.set(0);
+        long started = System.nanoTime();
+        List<CompletableFuture<Long>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            long sent = System.nanoTime();
+            // A user per request, so that every request misses the user cache
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.formatted(i)))
+                    .header("X-User-Id", String.valueOf(firstUserId + i))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        assertThat(response.statusCode()).isEqualTo(200);
+                        return (System.nanoTime() - sent) / 1_000_000;
+                    }));
+        }
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            latencies[i] = responses.get(i).get(2, TimeUnit.MINUTES);
+        }
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        Arrays.sort(latencies);
+        return new Result(maxWaiting.get(), millis, latencies[REQUESTS / 2], latencies[REQUESTS * 99 / 100]);
+    }
+
+    private record Result(int maxWaiting, long millis, long p50, long p99) {
+
+        @Override
+        public String toString() {
+            return "at most %d waiting for user-service, %d ms in total (%.0f requests/s), p50 %d ms, p99 %d ms"
+                    .formatted(maxWaiting, millis, REQUESTS * 1000.0 / millis, p50, p99);
+        }
+    }
+
+    /**
+     * Answers after {@link #USER_SERVICE_LATENCY} without holding a thread, like the Kafka adapter.
+     */
+    static class SlowUserPort implements UserPort {
+
+        @Override
+        public UserDto getUserById(Long id) {
+            return getUserByIdAsync(id).join();
+        }
+
+        @Override
+        public CompletableFuture<UserDto> getUserByIdAsync(Long id) {
+            maxWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+            CompletableFuture<UserDto> reply = new CompletableFuture<>();
+            userService.schedule(() -> {
+                waiting.decrementAndGet();
+                reply.complete(new UserDto(id, "moderator" + id + "@test.com", "moderator" + id, "MODERATOR"));
+            }, USER_SERVICE_LATENCY.toMillis(), TimeUnit.MILLISECONDS);
+            return reply;
+        }
+    }
+
+    /**
+     * The same operation, waited for on the request thread.
+     */
+    @RestController
+    static class BlockingLotController {
+
+        private final LotUseCase lotService;
+
+        BlockingLotController(LotUseCase lotService) {
+            this.lotService = lotService;
+        }
+
+        @PutMapping("/blocking/lots/{id}/approve")
+        public LotDto approveLot(@PathVariable("id") Long id, Authentication authentication) {
+            return lotService.approveLot(id, (Long) authentication.getDetails()).join();
+        }
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class LoadTestApplication {
+
+        @Bean
+        TomcatServletWebServerFactory webServerFactory() {
+            TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+            factory.addConnectorCustomizers(connector -> {
+                AbstractProtocol<?> protocol = (AbstractProtocol<?>) connector.getProtocolHandler();
+                protocol.setMaxThreads(TOMCAT_THREADS);
+                protocol.setMinSpareThreads(TOMCAT_THREADS);
+            });
+            return factory;
+        }
+
+        @Bean
+        DispatcherServlet dispatcherServlet() {
+            return new DispatcherServlet();
+        }
+
+        @Bean
+        DispatcherServletRegistrationBean dispatcherServletRegistration(DispatcherServlet dispatcherServlet) {
+            return new DispatcherServletRegistrationBean(dispatcherServlet, "/");
+        }
+
+        // Stands in for the JWT filter: the caller is taken from a header
+        @Bean
+        FilterRegistrationBean<Filter> authentication() {
+            Filter filter = (request, response, chain) -> {
+                HttpServletRequest http = (HttpServletRequest) request;
+                String userId = http.getHeader("X-User-Id");
+                if (userId == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(userId, null, List.of());
+                token.setDetails(Long.valueOf(userId));
+                chain.doFilter(new HttpServletRequestWrapper(http) {
+                    @Override
+                    public java.security.Principal getUserPrincipal() {
+                        return token;
+                    }
+                }, response);
+            };
+            return new FilterRegistrationBean<>(filter);
+        }
+
+        @Bean
+        ThreadPoolTaskExecutor lotTaskExecutor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(10);
+            executor.setMaxPoolSize(10);
+            return executor;
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        LotServiceImpl lotService(ThreadPoolTaskExecutor lotTaskExecutor) {
+            LotRepositoryPort lotRepository = mock(LotRepositoryPort.class);
+            when(lotRepository.findById(any())).thenAnswer(invocation -> Optional.of(Lot.builder()
+                    .id(invocation.getArgument(0))
+                    .title("Vintage camera")
+                    .startPrice(new BigDecimal("100.00"))
+                    .currentPrice(new BigDecimal("100.00"))
+                    .bidStep(new BigDecimal("10.00"))
+                    .ownerId(0L)
+                    .status(LotStatus.PENDING_APPROVAL)
+                    .createdAt(LocalDateTime.now())
+                    .build()));
+            when(lotRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            UserCache userCache = new UserCache(new SlowUserPort(), 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+            return new LotServiceImpl(
+                    lotRepository,
+                    userCache,
+                    new LotDomainService(),
+                    mock(KafkaTemplate.class),
+                    new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                    lotTaskExecutor);
+        }
+
+        @Bean
+        LotController lotController(LotUseCase lotService) {
+            return new LotController(lotService);
+        }
+
+        @Bean
+        BlockingLotController blockingLotController(LotUseCase lotService) {
+            return new BlockingLotController(lotService);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package imbuy.lot;
+
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.domain.enums.LotSort;
+import imbuy.lot.infrastructure.persistence.adapter.LotSearchQuery;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * First page of a lot search on 1M lots: a title substring filter ({@code title ILIKE}) next to
+ * the full-text query, which also covers descriptions and is ranked. Terms range from common
+ * (every 7th lot) to rare (every 10 000th lot).
+ */
+@Testcontainers
+@Tag("benchmark")
+class LotFullTextSearchBenchmarkTest {
+
+    private static final int LOTS = 1_000_000;
+    private static final int RUNS = 20;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final List<String> TERMS = List.of("guitar", "vintage camera", "stradivarius", "museum certificate");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("lot_text_search")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO lots (title, description, start_price, current_price, bid_step, owner_id,
+                                  category_id, status, start_date, end_date, created_at)
+                SELECT (ARRAY['Vintage', 'Antique', 'Modern', 'Rare', 'Handmade'])[i % 5 + 1] || ' '
+                               || (ARRAY['guitar', 'camera', 'watch', 'bicycle', 'painting', 'vase', 'lamp'])[i % 7 + 1]
+                               || CASE WHEN i % 10000 = 0 THEN ' Stradivarius' ELSE '' END
+                               || ' ' || i,
+                       'Comes with a ' || (ARRAY['case', 'box', 'stand', 'manual', 'strap', 'certificate'])[i % 6 + 1]
+                               || ', from a ' || (ARRAY['private', 'museum', 'estate', 'dealer'])[i % 4 + 1]
+                               || ' collection. Lot number ' || i || ' of the catalogue.',
+                       100, 100, 10, i % 5000 + 1, i % 50 + 1,
+                       CASE WHEN i % 5 = 1 THEN 'ACTIVE' ELSE 'COMPLETED' END,
+                       now() - interval '1 day', now() + (i % 20000) * interval '1 minute',
+                       now() - i * interval '1 second'
+                FROM generate_series(1, ?) AS i
+                """)) {
+            insert.setInt(1, LOTS);
+            insert.execute();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE lots");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void firstPage() throws SQLException {
+        for (String term : TERMS) {
+            LotFilterDto substring = new LotFilterDto(term, null, null, null, null, null);
+            LotFilterDto fullText = new LotFilterDto(null, null, null, null, null, term);
+            LotFilterDto prefix = new LotFilterDto(null, null, null, null, null, term.substring(0, term.length() - 2));
+
+            double substringMs = medianMillis(LotSearchQuery.of(substring, LotSort.NEWEST, null, 21, NOW));
+            double rankedMs = medianMillis(LotSearchQuery.of(fullText, LotSort.RELEVANCE, null, 21, NOW));
+            double newestMs = medianMillis(LotSearchQuery.of(fullText, LotSort.NEWEST, null, 21, NOW));
+            double prefixMs = medianMillis(LotSearchQuery.of(prefix, LotSort.RELEVANCE, null, 21, NOW));
+
+            System.out.printf("'%s': title ILIKE %.1f ms, full text ranked %.1f ms, newest %.1f ms, prefix ranked %.1f ms, %d matches%n",
+                    term, substringMs, rankedMs, newestMs, prefixMs, count(term));
+            assertThat(explain(LotSearchQuery.of(fullText, LotSort.RELEVANCE, null, 21, NOW)))
+                    .contains("idx_lots_search_vector")
+                    .doesNotContain("Seq Scan");
+        }
+    }
+
+    private static double medianMillis(LotSearchQuery query) throws SQLException {
+        for (int i = 0; i < 3; i++) {
+            execute(query);
+        }
+        double[] millis = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            execute(query);
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[RUNS / 2];
+    }
+
+    private static int execute(LotSearchQuery query) throws SQLException {
+        int rows = 0;
+        try (ResultSet result = prepare(query.sql(), query.parameters()).executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long count(String term) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT count(*) FROM lots WHERE search_vector @@ plainto_tsquery('russian', ?)")) {
+            statement.setString(1, term);
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    private static String explain(LotSearchQuery query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rows = prepare("EXPLAIN " + query.sql(), query.parameters()).executeQuery()) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static PreparedStatement prepare(String sql, List<Object> parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+}
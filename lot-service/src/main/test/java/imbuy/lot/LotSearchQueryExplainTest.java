@@ -0,0 +1,248 @@
+package imbuy.lot;
+
+import imbuy.lot.application.dto.LotCursor;
+import imbuy.lot.application.dto.LotFilterDto;
+import imbuy.lot.domain.enums.LotSort;
+import imbuy.lot.domain.enums.LotStatus;
+import imbuy.lot.infrastructure.persistence.adapter.LotSearchQuery;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans of the lot listing queries on a seeded table: each common filter combination should
+ * read its composite index in sort order, without a sequential scan or a sort step, and text
+ * queries should go through the GIN index on {@code search_vector}.
+ */
+@Testcontainers
+class LotSearchQueryExplainTest {
+
+    private static final int LOTS = 100_000;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("lot_search")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        // 50 categories, 5000 owners; most lots are completed, a fifth active, 2% awaiting approval
+        try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO lots (title, description, start_price, current_price, bid_step, owner_id,
+                                      category_id, status, start_date, end_date, created_at)
+                    SELECT (ARRAY['Vintage', 'Antique', 'Modern', 'Rare'])[i % 4 + 1] || ' '
+                                   || (ARRAY['guitar', 'camera', 'watch', 'bicycle', 'painting', 'vase', 'lamp'])[i % 7 + 1]
+                                   || ' ' || i,
+                           'Comes with a ' || (ARRAY['case', 'box', 'stand', 'manual', 'strap'])[i % 5 + 1],
+                           100, 100, 10, i % 5000 + 1, i % 50 + 1,
+                           CASE WHEN i % 50 = 0 THEN 'PENDING_APPROVAL'
+                                WHEN i % 5 = 1 THEN 'ACTIVE'
+                                WHEN i % 5 = 2 THEN 'CANCELLED'
+                                ELSE 'COMPLETED' END,
+                           now() - interval '1 day', now() + (i % 20000) * interval '1 minute',
+                           now() - i * interval '1 second'
+                    FROM generate_series(1, ?) AS i
+                    """)) {
+            insert.setInt(1, LOTS);
+            insert.execute();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE lots");
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void activeLotsInCategoryEndingSoon_shouldUseStatusCategoryEndDateIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, null, 7L, null, true, null);
+
+        assertThat(explain(filter, LotSort.ENDING_SOON, null))
+                .contains("Index Scan using idx_lots_status_category_end_date")
+                .doesNotContain("Seq Scan", "Sort");
+        assertThat(explain(filter, LotSort.ENDING_SOON, new LotCursor(NOW.plusHours(3).toString(), 500L)))
+                .contains("Index Scan using idx_lots_status_category_end_date")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    void approvalQueue_shouldUseStatusCreatedAtIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, LotStatus.PENDING_APPROVAL, null, null, null, null);
+
+        assertThat(explain(filter, LotSort.NEWEST, new LotCursor(NOW.minusHours(3).toString(), 500L)))
+                .contains("Index Scan Backward using idx_lots_status_created_at")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    void lotsByStatusAndCategoryNewest_shouldUseStatusCategoryCreatedAtIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, LotStatus.ACTIVE, 7L, null, null, null);
+
+        assertThat(explain(filter, LotSort.NEWEST, null))
+                .contains("Index Scan Backward using idx_lots_status_category_created_at")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    void ownerLots_shouldUseOwnerIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, null, null, 42L, null, null);
+
+        // An owner has few lots, so sorting all of them after the index lookup is fine
+        assertThat(explain(filter, LotSort.NEWEST, null))
+                .contains("idx_lots_owner_created_at")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void unfilteredCatalogue_shouldUseCreatedAtIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, null, null, null, null, null);
+
+        assertThat(explain(filter, LotSort.NEWEST, new LotCursor(NOW.minusHours(3).toString(), 500L)))
+                .contains("Index Scan Backward using idx_lots_created_at")
+                .doesNotContain("Seq Scan", "Sort");
+    }
+
+    @Test
+    void textQuery_shouldUseSearchVectorIndex() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, null, null, null, null, "rare camer");
+
+        assertThat(explain(filter, LotSort.RELEVANCE, null))
+                .contains("Bitmap Index Scan on idx_lots_search_vector")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void textQuery_shouldMatchPrefixRankTitleMatchesFirstAndHighlight() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO lots (title, description, start_price, current_price, bid_step, owner_id,
+                                      status, created_at)
+                    VALUES ('Case for a violin', 'Fits a Stradivarius copy, certificate included', 100, 100, 10, 1, 'ACTIVE', now()),
+                           ('Stradivarius violin', 'Signed label inside', 100, 100, 10, 1, 'ACTIVE', now())
+                    """);
+        }
+        LotFilterDto filter = new LotFilterDto(null, null, null, null, null, "stradivar");
+        LotSearchQuery query = LotSearchQuery.of(filter, LotSort.RELEVANCE, null, 10, NOW);
+
+        List<String> titles = new ArrayList<>();
+        List<String> highlights = new ArrayList<>();
+        try (ResultSet rows = prepare(query.sql(), query.parameters()).executeQuery()) {
+            while (rows.next()) {
+                titles.add(rows.getString("title"));
+                highlights.add(rows.getString("highlight"));
+            }
+        }
+
+        assertThat(titles).containsExactly("Stradivarius violin", "Case for a violin");
+        assertThat(highlights).allMatch(highlight -> highlight.contains("<mark>Stradivarius</mark>"));
+
+        // 'certifica' stems differently from 'certificate', so it has to match as written
+        LotFilterDto incomplete = new LotFilterDto(null, null, null, null, null, "violin certifica");
+        LotSearchQuery prefix = LotSearchQuery.of(incomplete, LotSort.RELEVANCE, null, 10, NOW);
+        try (ResultSet rows = prepare(prefix.sql(), prefix.parameters()).executeQuery()) {
+            assertThat(rows.next()).isTrue();
+            assertThat(rows.getString("title")).isEqualTo("Case for a violin");
+            assertThat(rows.next()).isFalse();
+        }
+    }
+
+    @Test
+    void pages_shouldCoverEveryMatchingLotOnceInOrder() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, null, 7L, null, true, null);
+
+        List<Long> expected = ids(filter, LotSort.ENDING_SOON, null, LOTS);
+
+        assertThat(expected).isNotEmpty();
+        assertThat(walk(filter, LotSort.ENDING_SOON)).isEqualTo(expected);
+    }
+
+    @Test
+    void relevancePages_shouldCoverEveryMatchingLotOnceInOrder() throws SQLException {
+        LotFilterDto filter = new LotFilterDto(null, LotStatus.ACTIVE, null, null, null, "vintage guitar");
+
+        List<Long> expected = ids(filter, LotSort.RELEVANCE, null, LOTS);
+
+        assertThat(expected).isNotEmpty();
+        assertThat(walk(filter, LotSort.RELEVANCE)).isEqualTo(expected);
+    }
+
+    private static List<Long> walk(LotFilterDto filter, LotSort sort) throws SQLException {
+        List<Long> paged = new ArrayList<>();
+        LotCursor cursor = null;
+        while (true) {
+            List<LotCursor> page = cursors(LotSearchQuery.of(filter, sort, cursor, 50, NOW), sort);
+            page.forEach(row -> paged.add(row.id()));
+            if (page.size() < 50) {
+                return paged;
+            }
+            cursor = page.get(page.size() - 1);
+        }
+    }
+
+    private static String explain(LotFilterDto filter, LotSort sort, LotCursor after) throws SQLException {
+        LotSearchQuery query = LotSearchQuery.of(filter, sort, after, 21, NOW);
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rows = prepare("EXPLAIN " + query.sql(), query.parameters()).executeQuery()) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static List<Long> ids(LotFilterDto filter, LotSort sort, LotCursor after, int limit) throws SQLException {
+        return cursors(LotSearchQuery.of(filter, sort, after, limit, NOW), sort).stream().map(LotCursor::id).toList();
+    }
+
+    private static List<LotCursor> cursors(LotSearchQuery query, LotSort sort) throws SQLException {
+        List<LotCursor> result = new ArrayList<>();
+        try (ResultSet rows = prepare(query.sql(), query.parameters()).executeQuery()) {
+            while (rows.next()) {
+                String sortKey = switch (sort) {
+                    case NEWEST -> rows.getObject("created_at", LocalDateTime.class).toString();
+                    case ENDING_SOON -> rows.getObject("end_date", LocalDateTime.class).toString();
+                    case RELEVANCE -> Float.toString(rows.getFloat("rank"));
+                };
+                result.add(new LotCursor(sortKey, rows.getLong("id")));
+            }
+        }
+        return result;
+    }
+
+    private static PreparedStatement prepare(String sql, List<Object> parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+}
@@ -26,6 +26,7 @@ import org.testcontainers.utility.DockerImageName;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -82,7 +83,7 @@ class LotServiceApplicationTest {
     void shouldCreateAndRetrieveLot() {
         Long userId = 1L;
         UserDto userDto = new UserDto(userId, "user@test.com", "testuser", "USER");
-        when(userPort.getUserById(userId)).thenReturn(userDto);
+        when(userPort.getUserByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(userDto));
 
         CreateLotDto createDto = new CreateLotDto(
                 "Test Lot",
@@ -94,7 +95,7 @@ class LotServiceApplicationTest {
                 LocalDateTime.now().plusDays(7)
         );
 
-        LotDto created = lotService.createLot(createDto, userId);
+        LotDto created = lotService.createLot(createDto, userId).join();
 
         assertThat(created).isNotNull();
         assertThat(created.title()).isEqualTo("Test Lot");
@@ -110,8 +111,8 @@ class LotServiceApplicationTest {
         UserDto userDto = new UserDto(userId, "user@test.com", "testuser", "USER");
         UserDto moderatorDto = new UserDto(moderatorId, "mod@test.com", "moderator", "MODERATOR");
 
-        when(userPort.getUserById(userId)).thenReturn(userDto);
-        when(userPort.getUserById(moderatorId)).thenReturn(moderatorDto);
+        when(userPort.getUserByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(userDto));
+        when(userPort.getUserByIdAsync(moderatorId)).thenReturn(CompletableFuture.completedFuture(moderatorDto));
 
         CreateLotDto createDto = new CreateLotDto(
                 "Test Lot",
@@ -123,9 +124,9 @@ class LotServiceApplicationTest {
                 LocalDateTime.now().plusDays(7)
         );
 
-        LotDto created = lotService.createLot(createDto, userId);
+        LotDto created = lotService.createLot(createDto, userId).join();
 
-        LotDto approved = lotService.approveLot(created.id(), moderatorId);
+        LotDto approved = lotService.approveLot(created.id(), moderatorId).join();
 
         assertThat(approved.status()).isEqualTo(LotStatus.ACTIVE);
     }
@@ -138,8 +139,8 @@ class LotServiceApplicationTest {
         UserDto userDto = new UserDto(userId, "user@test.com", "testuser", "USER");
         UserDto regularUserDto = new UserDto(regularUserId, "regular@test.com", "regular", "USER");
 
-        when(userPort.getUserById(userId)).thenReturn(userDto);
-        when(userPort.getUserById(regularUserId)).thenReturn(regularUserDto);
+        when(userPort.getUserByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(userDto));
+        when(userPort.getUserByIdAsync(regularUserId)).thenReturn(CompletableFuture.completedFuture(regularUserDto));
 
         CreateLotDto createDto = new CreateLotDto(
                 "Test Lot",
@@ -151,10 +152,10 @@ class LotServiceApplicationTest {
                 LocalDateTime.now().plusDays(7)
         );
 
-        LotDto created = lotService.createLot(createDto, userId);
+        LotDto created = lotService.createLot(createDto, userId).join();
 
-        assertThatThrownBy(() -> lotService.approveLot(created.id(), regularUserId))
-                .isInstanceOf(IllegalStateException.class)
+        assertThatThrownBy(() -> lotService.approveLot(created.id(), regularUserId).join())
+                .hasCauseInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("User has no permission to approve lot");
     }
 
@@ -162,7 +163,7 @@ class LotServiceApplicationTest {
     void shouldUpdateLotByOwner() {
         Long userId = 1L;
         UserDto userDto = new UserDto(userId, "user@test.com", "testuser", "USER");
-        when(userPort.getUserById(userId)).thenReturn(userDto);
+        when(userPort.getUserByIdAsync(userId)).thenReturn(CompletableFuture.completedFuture(userDto));
 
         CreateLotDto createDto = new CreateLotDto(
                 "Test Lot",
@@ -174,7 +175,7 @@ class LotServiceApplicationTest {
                 LocalDateTime.now().plusDays(7)
         );
 
-        LotDto created = lotService.createLot(createDto, userId);
+        LotDto created = lotService.createLot(createDto, userId).join();
 
         UpdateLotDto updateDto = new UpdateLotDto(
                 "Updated Title",
@@ -199,8 +200,8 @@ class LotServiceApplicationTest {
         UserDto ownerDto = new UserDto(ownerId, "owner@test.com", "owner", "USER");
         UserDto otherUserDto = new UserDto(otherUserId, "other@test.com", "other", "USER");
 
-        when(userPort.getUserById(ownerId)).thenReturn(ownerDto);
-        when(userPort.getUserById(otherUserId)).thenReturn(otherUserDto);
+        when(userPort.getUserByIdAsync(ownerId)).thenReturn(CompletableFuture.completedFuture(ownerDto));
+        when(userPort.getUserByIdAsync(otherUserId)).thenReturn(CompletableFuture.completedFuture(otherUserDto));
 
         CreateLotDto createDto = new CreateLotDto(
                 "Test Lot",
@@ -212,7 +213,7 @@ class LotServiceApplicationTest {
                 LocalDateTime.now().plusDays(7)
         );
 
-        LotDto created = lotService.createLot(createDto, ownerId);
+        LotDto created = lotService.createLot(createDto, ownerId).join();
 
         UpdateLotDto updateDto = new UpdateLotDto(
                 "Updated Title",
@@ -0,0 +1,77 @@
+package imbuy.lot;
+
+import imbuy.lot.application.cache.UserCache;
+import imbuy.lot.application.dto.LotDto;
+import imbuy.lot.application.dto.UserDto;
+import imbuy.lot.application.port.out.LotRepositoryPort;
+import imbuy.lot.application.port.out.UserPort;
+import imbuy.lot.application.service.LotServiceImpl;
+import imbuy.lot.application.util.Futures;
+import imbuy.lot.domain.service.LotDomainService;
+import imbuy.lot.infrastructure.config.AsyncConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LotTaskExecutorTest {
+
+    private static final UserDto MODERATOR = new UserDto(1L, "mod@test.com", "moderator", "MODERATOR");
+
+    private final ThreadPoolTaskExecutor executor = new AsyncConfiguration().lotTaskExecutor(1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullQueue_shouldRejectLotOperationWith503() {
+        executor.initialize();
+        UserPort userPort = mock(UserPort.class);
+        when(userPort.getUserByIdAsync(any())).thenReturn(CompletableFuture.completedFuture(MODERATOR));
+        LotServiceImpl lotService = new LotServiceImpl(
+                mock(LotRepositoryPort.class),
+                new UserCache(userPort, 100, Duration.ofMinutes(5), new SimpleMeterRegistry()),
+                new LotDomainService(),
+                mock(KafkaTemplate.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                executor);
+
+        // One operation running, one waiting: the pool and the queue are full
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        CompletableFuture<LotDto> rejected = lotService.approveLot(7L, 1L);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(Futures.unwrap(rejected.handle((lot, error) -> error).join()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package imbuy.lot;
+
+import com.imbuy.events.ReplyTopics;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.user.UserRequestEvent;
+import imbuy.lot.infrastructure.kafka.ReplyTopic;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplyTopicTest {
+
+    @Test
+    void name_shouldOnlyContainCharactersKafkaAllows() {
+        ReplyTopic replyTopic = new ReplyTopic("lot-service:7f3a/b c");
+
+        assertThat(replyTopic.name()).isEqualTo("lot-service-replies.lot-service-7f3a-b-c");
+    }
+
+    @Test
+    void request_shouldNameReplyTopicAndKeepKey() {
+        ReplyTopic replyTopic = new ReplyTopic("pod-1");
+        UserRequestEvent request = new UserRequestEvent("lot-service", 42L, "request-1", "GET_USER_BY_ID");
+
+        ProducerRecord<String, Object> record = replyTopic.request(TopicNames.USER_REQUESTS, request);
+
+        assertThat(record.topic()).isEqualTo(TopicNames.USER_REQUESTS);
+        assertThat(record.key()).isEqualTo("42");
+        assertThat(ReplyTopics.replyTopic(record.headers(), TopicNames.USER_RESPONSES))
+                .isEqualTo("lot-service-replies.pod-1");
+    }
+
+    @Test
+    void requestWithoutHeader_shouldBeAnsweredOnSharedTopic() {
+        assertThat(ReplyTopics.replyTopic(new RecordHeaders(), TopicNames.USER_RESPONSES))
+                .isEqualTo(TopicNames.USER_RESPONSES);
+        assertThat(ReplyTopics.replyTopic((byte[]) null, TopicNames.USER_RESPONSES))
+                .isEqualTo(TopicNames.USER_RESPONSES);
+    }
+}
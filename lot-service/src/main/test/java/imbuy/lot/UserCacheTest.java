@@ -0,0 +1,98 @@
+package imbuy.lot;
+
+import imbuy.lot.application.cache.UserCache;
+import imbuy.lot.application.dto.UserDto;
+import imbuy.lot.application.port.out.UserPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private static final UserDto MODERATOR = new UserDto(1L, "mod@test.com", "moderator", "MODERATOR");
+
+    private final UserPort userPort = mock(UserPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserCache userCache = new UserCache(userPort, 100, Duration.ofMinutes(5), meterRegistry);
+
+    @Test
+    void get_shouldAskUserServiceOnce_andCountHitsAndMisses() {
+        when(userPort.getUserByIdAsync(1L)).thenReturn(CompletableFuture.completedFuture(MODERATOR));
+
+        assertThat(userCache.get(1L)).isEqualTo(MODERATOR);
+        assertThat(userCache.get(1L)).isEqualTo(MODERATOR);
+
+        verify(userPort, times(1)).getUserByIdAsync(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lot.users").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lot.users").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentMisses_shouldShareOneRequest() {
+        CompletableFuture<UserDto> reply = new CompletableFuture<>();
+        when(userPort.getUserByIdAsync(1L)).thenReturn(reply);
+
+        List<CompletableFuture<UserDto>> callers = List.of(
+                userCache.getAsync(1L), userCache.getAsync(1L), userCache.getAsync(1L), userCache.getAsync(1L));
+        assertThat(callers).noneMatch(CompletableFuture::isDone);
+        reply.complete(MODERATOR);
+
+        assertThat(callers).allMatch(caller -> caller.join().equals(MODERATOR));
+        verify(userPort, times(1)).getUserByIdAsync(1L);
+        assertThat(meterRegistry.counter("lot.users.coalesced").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void invalidate_shouldMakeNextLookupAskAgain() {
+        UserDto promoted = new UserDto(2L, "user@test.com", "user", "MODERATOR");
+        when(userPort.getUserByIdAsync(2L))
+                .thenReturn(CompletableFuture.completedFuture(new UserDto(2L, "user@test.com", "user", "USER")))
+                .thenReturn(CompletableFuture.completedFuture(promoted));
+
+        userCache.get(2L);
+        userCache.invalidate(2L);
+
+        assertThat(userCache.get(2L)).isEqualTo(promoted);
+    }
+
+    @Test
+    void invalidateDuringLookup_shouldNotCacheTheOldUser() {
+        CompletableFuture<UserDto> reply = new CompletableFuture<>();
+        UserDto promoted = new UserDto(2L, "user@test.com", "user", "MODERATOR");
+        when(userPort.getUserByIdAsync(2L))
+                .thenReturn(reply)
+                .thenReturn(CompletableFuture.completedFuture(promoted));
+
+        CompletableFuture<UserDto> lookup = userCache.getAsync(2L);
+        userCache.invalidate(2L);
+        reply.complete(new UserDto(2L, "user@test.com", "user", "USER"));
+
+        assertThat(lookup.join().role()).isEqualTo("USER");
+        assertThat(userCache.get(2L)).isEqualTo(promoted);
+    }
+
+    @Test
+    void failedLookup_shouldNotBeCached() {
+        when(userPort.getUserByIdAsync(3L))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "User service is unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(MODERATOR));
+
+        assertThatThrownBy(() -> userCache.get(3L)).isInstanceOf(ResponseStatusException.class);
+        assertThat(userCache.get(3L)).isEqualTo(MODERATOR);
+    }
+}
@@ -23,6 +23,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.notification.kafka.concurrency:3}")
+    private int concurrency;
+
     @Bean
     public ConsumerFactory<String, BaseEvent> consumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -40,6 +43,9 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, BaseEvent> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Producers key events by lot or user (EventKeys), and a partition is consumed by one
+        // thread at a time, so events of one lot are handled in order at any concurrency
+        factory.setConcurrency(concurrency);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
     }
@@ -83,7 +83,9 @@ public class KafkaEventConsumer {
                         bidPlaced.getBidderId(),
                         "WEBSOCKET",
                         "Bid Placed",
-                        String.format("Your bid of %.2f has been placed on lot #%d", 
+                        String.format(bidPlaced.isAutoPlaced()
+                                        ? "A bid of %.2f was placed for you on lot #%d from your maximum bid"
+                                        : "Your bid of %.2f has been placed on lot #%d",
                                 bidPlaced.getAmount(), bidPlaced.getLotId())
                 );
             }
@@ -1,5 +1,8 @@
 package imbuy.user.application.service;
 
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.TopicNames;
+import com.imbuy.events.user.UserUpdatedEvent;
 import imbuy.user.application.port.in.UserUseCase;
 import imbuy.user.application.port.out.PasswordEncoderPort;
 import imbuy.user.application.port.out.UserRepositoryPort;
@@ -10,6 +13,7 @@ import imbuy.user.application.dto.UserDto;
 import imbuy.user.infrastructure.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
@@ -22,6 +26,7 @@ public class UserService implements UserUseCase {
 
     private final UserRepositoryPort repository;
     private final PasswordEncoderPort encoder;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
     private final UserPolicy policy = new UserPolicy();
 
     @Override
@@ -49,6 +54,17 @@ public class UserService implements UserUseCase {
                             .build();
                     return repository.save(updated);
                 })
+                // Lets other services drop their cached copy of the user
+                .doOnNext(saved -> {
+                    UserUpdatedEvent event = new UserUpdatedEvent(
+                            "user-service",
+                            saved.getId(),
+                            saved.getUsername(),
+                            saved.getEmail(),
+                            saved.getRole() != null ? saved.getRole().name() : null
+                    );
+                    kafkaTemplate.send(TopicNames.USER_EVENTS, EventKeys.keyOf(event), event);
+                })
                 .map(UserDto::from);
     }
 }
@@ -1,5 +1,7 @@
 package imbuy.user.infrastructure.kafka;
 
+import com.imbuy.events.EventKeys;
+import com.imbuy.events.ReplyTopics;
 import com.imbuy.events.TopicNames;
 import com.imbuy.events.user.UserRequestEvent;
 import com.imbuy.events.user.UserResponseEvent;
@@ -10,6 +12,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
@@ -23,7 +27,11 @@ public class UserRequestHandler {
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @KafkaListener(topics = TopicNames.USER_REQUESTS, groupId = "user-service")
-    public void handleUserRequest(UserRequestEvent request, Acknowledgment acknowledgment) {
+    public void handleUserRequest(@Payload UserRequestEvent request,
+                                  @Header(name = ReplyTopics.HEADER, required = false) byte[] replyHeader,
+                                  Acknowledgment acknowledgment) {
+        // The requesting instance if it named its reply topic, otherwise the shared topic
+        String replyTopic = ReplyTopics.replyTopic(replyHeader, TopicNames.USER_RESPONSES);
         log.info("Received user request: requestId={}, userId={}, type={}", 
                 request.getRequestId(), request.getUserId(), request.getRequestType());
 
@@ -40,7 +48,7 @@ public class UserRequestHandler {
                                 true,
                                 null
                         );
-                        kafkaTemplate.send(TopicNames.USER_RESPONSES, response);
+                        kafkaTemplate.send(replyTopic, EventKeys.keyOf(response), response);
                         acknowledgment.acknowledge();
                         log.info("Sent user response: requestId={}, userId={}", 
                                 request.getRequestId(), user.getId());
@@ -57,7 +65,7 @@ public class UserRequestHandler {
                                 false,
                                 "User not found"
                         );
-                        kafkaTemplate.send(TopicNames.USER_RESPONSES, response);
+                        kafkaTemplate.send(replyTopic, EventKeys.keyOf(response), response);
                         acknowledgment.acknowledge();
                         log.info("Sent user not found response: requestId={}", request.getRequestId());
                     }))
@@ -73,7 +81,7 @@ public class UserRequestHandler {
                                 false,
                                 error.getMessage()
                         );
-                        kafkaTemplate.send(TopicNames.USER_RESPONSES, response);
+                        kafkaTemplate.send(replyTopic, EventKeys.keyOf(response), response);
                         acknowledgment.acknowledge();
                         return Mono.empty();
                     })
@@ -100,7 +100,7 @@ class AuthServiceIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        when(kafkaTemplate.send(any(), any())).thenReturn(null);
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(null);
     }
 
     @Test